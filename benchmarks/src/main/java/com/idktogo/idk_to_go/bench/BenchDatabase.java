@@ -0,0 +1,121 @@
+package com.idktogo.idk_to_go.bench;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.repository.Repositories;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Embedded H2 database (MySQL mode) that stands in for the remote MySQL server.
+ * The app's own {@link DatabaseConnector} pool is pointed at it through the "db." system
+ * properties, so the DAOs run unmodified. Seeding is skipped when the requested
+ * catalog/history sizes are already loaded.
+ */
+public final class BenchDatabase {
+
+    // User whose history is seeded for the history benchmarks
+    public static final int HISTORY_USER_ID = 1;
+
+    private static final String URL = "jdbc:h2:mem:idktogo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static int seededCatalog = -1;
+    private static int seededHistory = -1;
+
+    private BenchDatabase() {}
+
+    // Point the app at the embedded database and make sure it holds the requested rows
+    public static synchronized void prepare(int catalogSize, int historySize) {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.user", "bench");
+        System.setProperty("db.password", "bench");
+        System.setProperty("db.pool.leakDetection", "false");
+        System.setProperty("storage.backend", "jdbc");
+        AppConfig.reload();
+        Repositories.use(Repositories.Backend.JDBC);
+
+        if (catalogSize == seededCatalog && historySize == seededHistory) return;
+
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            runScript(conn, "/bench-schema.sql");
+            seedRestaurants(conn, catalogSize);
+            seedHistory(conn, catalogSize, historySize);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Failed to prepare benchmark database: " + e.getMessage(), e);
+        }
+
+        seededCatalog = catalogSize;
+        seededHistory = historySize;
+    }
+
+    // Set a config value for the current fork (e.g. counters.writeBehind)
+    public static void set(String key, String value) {
+        System.setProperty(key, value);
+        AppConfig.reload();
+    }
+
+    private static void runScript(Connection conn, String resource) throws SQLException, IOException {
+        String script;
+        try (InputStream in = BenchDatabase.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Missing resource " + resource);
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Statement st = conn.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) st.execute(sql);
+            }
+        }
+    }
+
+    private static void seedRestaurants(Connection conn, int count) throws SQLException {
+        String sql = """
+            INSERT INTO restaurants (name, category, location, likes, dislikes, netScore, weeklyLikes, logo)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        String[] categories = {"Pizza", "Burgers", "Sushi", "Tacos", "Coffee", "Thai", "Salads", "BBQ"};
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                int likes = (i * 37) % 500;
+                int dislikes = (i * 11) % 200;
+                ps.setString(1, "Restaurant " + i);
+                ps.setString(2, categories[i % categories.length]);
+                ps.setString(3, (i % 90) + " Main Street");
+                ps.setInt(4, likes);
+                ps.setInt(5, dislikes);
+                ps.setInt(6, likes - dislikes);
+                ps.setInt(7, (i * 7) % 50);
+                ps.setString(8, "https://logos.example.com/" + i + ".png");
+                ps.addBatch();
+                if (i % 1_000 == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void seedHistory(Connection conn, int catalogSize, int count) throws SQLException {
+        String sql = "INSERT INTO user_history (user_id, restaurant_id, liked, ts) VALUES (?, ?, ?, ?)";
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        int rows = Math.min(count, catalogSize);
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= rows; i++) {
+                ps.setInt(1, HISTORY_USER_ID);
+                ps.setInt(2, i);
+                ps.setInt(3, i % 3 == 0 ? -1 : 1);
+                ps.setTimestamp(4, Timestamp.valueOf(start.plusMinutes(i)));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.idktogo.idk_to_go.bench;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the JMH benchmarks once per thread count in "bench.threads" (default "1,4,8").
+ * All regular JMH command-line options are accepted, e.g.
+ * {@code java -Dbench.threads=1,16 -jar benchmarks.jar ReactionBenchmark -p writeBehind=true}.
+ * An explicit -t on the command line runs that thread count only.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats() || cli.getThreads().hasValue()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        for (String threads : System.getProperty("bench.threads", "1,4,8").split(",")) {
+            int count = Integer.parseInt(threads.trim());
+            System.out.println("# ==== " + count + " thread(s) ====");
+            new Runner(new OptionsBuilder().parent(cli).threads(count).build()).run();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.idktogo.idk_to_go.bench;
+
+import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.service.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog list and top-K reads: straight through the DAO (one query per call)
+ * and through RestaurantService (served from the catalog cache after the first call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    @Param({"10"})
+    public int topK;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchDatabase.prepare(catalogSize, 0);
+    }
+
+    @Benchmark
+    public List<Restaurant> daoListAll() {
+        return RestaurantDAO.listAll().join();
+    }
+
+    @Benchmark
+    public List<Restaurant> daoTopByWeeklyLikes() {
+        return RestaurantDAO.topByWeeklyLikes(topK).join();
+    }
+
+    @Benchmark
+    public List<Restaurant> daoTopByNetScore() {
+        return RestaurantDAO.topByNetScore().join();
+    }
+
+    @Benchmark
+    public List<Restaurant> serviceListAll() {
+        return RestaurantService.listAll().join();
+    }
+
+    @Benchmark
+    public List<Restaurant> serviceTopByWeeklyLikes() {
+        return RestaurantService.topByWeeklyLikes(topK).join();
+    }
+}
@@ -0,0 +1,42 @@
+package com.idktogo.idk_to_go.bench;
+
+import com.idktogo.idk_to_go.dao.HistoryDAO;
+import com.idktogo.idk_to_go.model.HistoryEntry;
+import com.idktogo.idk_to_go.model.UserHistory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one user's history: the plain listing and the listing joined with restaurants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryBenchmark {
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    @Param({"10", "100", "1000"})
+    public int historySize;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchDatabase.prepare(catalogSize, historySize);
+    }
+
+    @Benchmark
+    public List<UserHistory> listByUser() {
+        return HistoryDAO.listByUser(BenchDatabase.HISTORY_USER_ID).join();
+    }
+
+    @Benchmark
+    public List<HistoryEntry> listByUserWithRestaurants() {
+        return HistoryDAO.listByUserWithRestaurants(BenchDatabase.HISTORY_USER_ID).join();
+    }
+}
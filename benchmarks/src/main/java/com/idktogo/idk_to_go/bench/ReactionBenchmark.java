@@ -0,0 +1,68 @@
+package com.idktogo.idk_to_go.bench;
+
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.service.CounterAggregator;
+import com.idktogo.idk_to_go.service.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Like/dislike throughput through RestaurantService, with counters written in the same
+ * transaction (writeBehind=false) or buffered by CounterAggregator (writeBehind=true).
+ * Each thread acts as its own user and flips its reaction every call, so every call
+ * changes the counters. Run with several thread counts (see BenchmarkMain) to see row contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReactionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({"1000"})
+        public int catalogSize;
+
+        @Param({"false", "true"})
+        public boolean writeBehind;
+
+        // Restaurants the reactions are spread over; small values model a hot spot
+        @Param({"10", "1000"})
+        public int hotRestaurants;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchDatabase.set("counters.writeBehind", Boolean.toString(writeBehind));
+            BenchDatabase.prepare(catalogSize, 0);
+            if (writeBehind) CounterAggregator.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (writeBehind) CounterAggregator.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reactor {
+        private static final AtomicInteger USER_IDS = new AtomicInteger(1_000);
+
+        final int userId = USER_IDS.incrementAndGet();
+        final SplittableRandom random = new SplittableRandom(userId);
+        boolean like = true;
+    }
+
+    @Benchmark
+    public Optional<Restaurant> react(Catalog catalog, Reactor reactor) {
+        int restaurantId = 1 + reactor.random.nextInt(Math.min(catalog.hotRestaurants, catalog.catalogSize));
+        reactor.like = !reactor.like;
+        return reactor.like
+                ? RestaurantService.handleLike(reactor.userId, restaurantId).join()
+                : RestaurantService.handleDislike(reactor.userId, restaurantId).join();
+    }
+}
@@ -0,0 +1,54 @@
+package com.idktogo.idk_to_go.dao;
+
+import com.idktogo.idk_to_go.bench.BenchDatabase;
+import com.idktogo.idk_to_go.core.DatabaseConnector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link RestaurantDAO#mapRow} over a whole catalog, isolated from the query itself:
+ * each thread scrolls an already-materialized result set and maps every row.
+ * Lives in the dao package because mapRow is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapRowBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private Connection conn;
+    private PreparedStatement ps;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchDatabase.prepare(catalogSize, 0);
+        conn = DatabaseConnector.getConnection();
+        ps = conn.prepareStatement("SELECT * FROM restaurants", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rs = ps.executeQuery();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rs.close();
+        ps.close();
+        conn.close();
+    }
+
+    @Benchmark
+    public void mapCatalog(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) bh.consume(RestaurantDAO.mapRow(rs));
+    }
+}
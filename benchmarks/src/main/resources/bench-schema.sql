@@ -0,0 +1,49 @@
+-- Tables used by the DAOs, in H2's MySQL compatibility mode
+DROP TABLE IF EXISTS menu_items;
+DROP TABLE IF EXISTS user_history;
+DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS restaurants;
+
+CREATE TABLE restaurants (
+    id          INT AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    category    VARCHAR(255),
+    location    VARCHAR(255),
+    likes       INT NOT NULL DEFAULT 0,
+    dislikes    INT NOT NULL DEFAULT 0,
+    netScore    INT NOT NULL DEFAULT 0,
+    weeklyLikes INT NOT NULL DEFAULT 0,
+    logo        VARCHAR(512)
+);
+CREATE INDEX idx_restaurants_name ON restaurants (name, id);
+CREATE INDEX idx_restaurants_weekly ON restaurants (weeklyLikes);
+CREATE INDEX idx_restaurants_net ON restaurants (netScore);
+
+CREATE TABLE users (
+    id         INT AUTO_INCREMENT PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    password   VARCHAR(255) NOT NULL,
+    is_admin   BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE user_history (
+    id            INT AUTO_INCREMENT PRIMARY KEY,
+    user_id       INT NOT NULL,
+    restaurant_id INT NOT NULL,
+    liked         TINYINT,
+    ts            TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_history_user_restaurant UNIQUE (user_id, restaurant_id)
+);
+CREATE INDEX idx_history_user_ts ON user_history (user_id, ts, id);
+
+CREATE TABLE menu_items (
+    id            INT AUTO_INCREMENT PRIMARY KEY,
+    restaurant_id INT NOT NULL,
+    item_name     VARCHAR(255) NOT NULL,
+    price         DECIMAL(10, 2) NOT NULL
+);
+CREATE INDEX idx_menu_restaurant ON menu_items (restaurant_id);
@@ -1,46 +1,116 @@
 package com.idktogo.idk_to_go;
 
+import com.idktogo.idk_to_go.core.AppExecutors;
 import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.core.LogoCache;
 import com.idktogo.idk_to_go.core.Navigation;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.core.ThemeManager;
+import com.idktogo.idk_to_go.core.StartupPipeline;
+import com.idktogo.idk_to_go.dao.StatementRegistry;
+import com.idktogo.idk_to_go.data.PreferenceStore;
+import com.idktogo.idk_to_go.data.SessionJournal;
+import com.idktogo.idk_to_go.repository.Repositories;
+import com.idktogo.idk_to_go.service.CandidateRanker;
+import com.idktogo.idk_to_go.service.CatalogCache;
+import com.idktogo.idk_to_go.service.CatalogSync;
+import com.idktogo.idk_to_go.service.CounterAggregator;
+import com.idktogo.idk_to_go.service.LlmClient;
+import com.idktogo.idk_to_go.service.MenuCache;
+import com.idktogo.idk_to_go.service.QuizPool;
+import com.idktogo.idk_to_go.service.RecommendationCache;
+import com.idktogo.idk_to_go.service.RestaurantService;
+import com.idktogo.idk_to_go.service.UserService;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+
 public class Main extends Application {
 
     @Override
     public void start(Stage stage) {
         try {
-            // Initialize MySQL connection via Railway
-            DatabaseConnector.getConnection();
+            // Start the write-behind flusher for restaurant counters
+            CounterAggregator.start();
+
+            // Serve the catalog from the local snapshot until the database copy arrives;
+            // it is read in the background while the first scene is parsed
+            CompletableFuture<Void> snapshot = CatalogSync.loadSnapshot();
 
             // Setup app window
             Navigation.setStage(stage);
 
-            String fxmlPath = SessionManager.isLoggedIn()
+            boolean loggedIn = SessionManager.isLoggedIn();
+            String fxmlPath = loggedIn
                     ? "/com/idktogo/idk_to_go/main.fxml"
                     : "/com/idktogo/idk_to_go/login.fxml";
 
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Scene scene = new Scene(loader.load());
-            ThemeManager.applyTheme(scene);
-
-            stage.setScene(scene);
             stage.setResizable(false);
             stage.setTitle("IDK To-Go");
-            stage.show();
+            Navigation.load(fxmlPath);
 
             System.out.println("Application started successfully!");
 
+            // Parse the screens most often opened next while the user looks at this one
+            if (loggedIn) Navigation.preload("/com/idktogo/idk_to_go/trending.fxml", "/com/idktogo/idk_to_go/options.fxml");
+
+            // Everything that needs the database runs in the background once the window is up
+            startupPipeline(loggedIn, snapshot).start();
+
         } catch (Exception e) {
             System.err.println("Startup error: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    // Background startup phases; pool warm-up comes first, the rest run in parallel after it.
+    // The snapshot phase is the read started in start(); the reconcile waits for it so it is not overwritten.
+    private static StartupPipeline startupPipeline(boolean loggedIn, CompletableFuture<Void> snapshot) {
+        return new StartupPipeline()
+                .phase("snapshot", () -> snapshot)
+                .phase("pool", () -> Repositories.backend() == Repositories.Backend.JDBC
+                        ? DatabaseConnector.warmUp().thenAccept(stats ->
+                                System.out.println("Connected to Railway MySQL successfully! (" + stats + ")"))
+                        : CompletableFuture.completedFuture(null))
+                .phase("session", () -> UserService.validateSession().thenAccept(valid -> {
+                    // The first scene trusted the stored login; send a stale session back to the login screen
+                    if (loggedIn && !valid) {
+                        Platform.runLater(() -> {
+                            Navigation.clearCache();
+                            Navigation.load("/com/idktogo/idk_to_go/login.fxml");
+                        });
+                    }
+                }), "pool")
+                .phase("quizPool", QuizPool::start)
+                .phase("catalog", CatalogSync::reconcile, "pool", "snapshot")
+                .phase("hot", () -> CompletableFuture.allOf(
+                        RestaurantService.topByWeeklyLikes(1),
+                        RestaurantService.topByWeeklyLikes(10),
+                        RestaurantService.topByNetScore()), "catalog")
+                // Sizes match the hot restaurant logo in main.fxml and the trending rows
+                .phase("logos", () -> RestaurantService.topByWeeklyLikes(10).thenAccept(top -> {
+                    if (!top.isEmpty()) LogoCache.prefetch(top.getFirst().logo(), 90, 0);
+                    top.forEach(r -> LogoCache.prefetch(r.logo(), LogoCache.ROW_ICON_SIZE, LogoCache.ROW_ICON_SIZE));
+                }), "hot");
+    }
+
+    @Override
+    public void stop() {
+        System.out.println("Catalog cache: " + CatalogCache.stats());
+        System.out.println("Menu cache: " + MenuCache.stats());
+        System.out.println("Logo cache: " + LogoCache.stats());
+        System.out.println("Statements: " + StatementRegistry.stats());
+        System.out.println("LLM: " + LlmClient.stats());
+        System.out.println("Recommendation cache: " + RecommendationCache.stats());
+        System.out.println("Recommendation prompts: " + CandidateRanker.stats());
+        CounterAggregator.shutdown();
+        PreferenceStore.shutdown();
+        SessionJournal.shutdown();
+        AppExecutors.shutdown();
+        DatabaseConnector.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
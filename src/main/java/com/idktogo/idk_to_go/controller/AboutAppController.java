@@ -1,9 +1,14 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
+import com.idktogo.idk_to_go.core.Refreshable;
 import javafx.fxml.FXML;
 
-public class AboutAppController {
+public class AboutAppController implements Refreshable {
+
+    // Static screen, nothing to reload
+    @Override
+    public void onShow() {}
 
     @FXML
     private void goBack() {
@@ -1,69 +1,93 @@
 package com.idktogo.idk_to_go.controller;
 
+import com.idktogo.idk_to_go.core.LogoCache;
 import com.idktogo.idk_to_go.core.Navigation;
-import com.idktogo.idk_to_go.dao.HistoryDAO;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.core.Refreshable;
 import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.service.CatalogImporter;
+import com.idktogo.idk_to_go.service.HistoryService;
+import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.io.File;
 
-public class AdminController {
+public class AdminController implements Refreshable {
 
-    @FXML private VBox restaurantList;
+    // Height of one restaurant row (fixed so the ListView can skip measuring cells)
+    private static final double ROW_HEIGHT = 48;
+
+    @FXML private ListView<Restaurant> restaurantList;
     @FXML private TextField nameField;
     @FXML private TextField categoryField;
     @FXML private TextField locationField;
     @FXML private TextField logoField;
+    @FXML private Button importButton;
+    @FXML private ProgressBar importProgress;
+    @FXML private Label importStatus;
 
     @FXML
     private void initialize() {
+        restaurantList.setCellFactory(list -> new RestaurantCell());
+        restaurantList.setFixedCellSize(ROW_HEIGHT);
+        restaurantList.setPlaceholder(new Label("No restaurants found."));
         loadRestaurants();
     }
 
-    // Load all restaurants into the list
-    private void loadRestaurants() {
-        restaurantList.getChildren().clear();
-
-        CompletableFuture<List<Restaurant>> future = RestaurantDAO.listAll();
+    @Override
+    public void onShow() {
+        loadRestaurants();
+    }
 
-        future.thenAccept(restaurants -> Platform.runLater(() -> {
-            restaurantList.getChildren().clear();
+    // Load all restaurants into the list, updating only the rows that changed
+    private void loadRestaurants() {
+        RestaurantService.listAll().thenAccept(restaurants -> Platform.runLater(() ->
+                ListUpdates.apply(restaurantList.getItems(), restaurants, Restaurant::id)
+        )).exceptionally(e -> {
+            e.printStackTrace();
+            Platform.runLater(() -> showAlert("Error loading restaurants", e.getMessage()));
+            return null;
+        });
+    }
 
-            if (restaurants.isEmpty()) {
-                restaurantList.getChildren().add(new Label("No restaurants found."));
-                return;
-            }
+    // A reusable restaurant row: logo, name and the per-restaurant actions
+    private final class RestaurantCell extends ListCell<Restaurant> {
+        private final HBox row = new HBox(10);
+        private final ImageView logo = LogoCache.icon(null);
+        private final Label nameLabel = new Label();
 
-            for (Restaurant r : restaurants) {
-                HBox row = new HBox(10);
-                row.setStyle("-fx-padding: 8; -fx-alignment: CENTER_LEFT;");
+        RestaurantCell() {
+            row.setStyle("-fx-padding: 8; -fx-alignment: CENTER_LEFT;");
+            nameLabel.setStyle("-fx-font-size: 16;");
 
-                Label nameLabel = new Label(r.name());
-                nameLabel.setStyle("-fx-font-size: 16;");
+            Button menuBtn = new Button("Menu");
+            Button editBtn = new Button("Edit");
+            Button deleteBtn = new Button("Delete");
 
-                Button menuBtn = new Button("Menu");
-                Button editBtn = new Button("Edit");
-                Button deleteBtn = new Button("Delete");
+            menuBtn.setOnAction(e -> manageMenu(getItem().id()));
+            editBtn.setOnAction(e -> editRestaurant(getItem().id()));
+            deleteBtn.setOnAction(e -> deleteRestaurant(getItem().id()));
 
-                menuBtn.setOnAction(e -> manageMenu(r.id()));
-                editBtn.setOnAction(e -> editRestaurant(r.id()));
-                deleteBtn.setOnAction(e -> deleteRestaurant(r.id()));
+            row.getChildren().addAll(logo, nameLabel, menuBtn, editBtn, deleteBtn);
+        }
 
-                row.getChildren().addAll(nameLabel, menuBtn, editBtn, deleteBtn);
-                restaurantList.getChildren().add(row);
+        @Override
+        protected void updateItem(Restaurant restaurant, boolean empty) {
+            super.updateItem(restaurant, empty);
+            if (empty || restaurant == null) {
+                setGraphic(null);
+                LogoCache.into(logo, null);
+                return;
             }
 
-        })).exceptionally(e -> {
-            e.printStackTrace();
-            Platform.runLater(() -> showAlert("Error loading restaurants", e.getMessage()));
-            return null;
-        });
+            nameLabel.setText(restaurant.name());
+            LogoCache.into(logo, restaurant.logo());
+            setGraphic(row);
+        }
     }
 
     // Add a new restaurant
@@ -88,7 +112,7 @@ public class AdminController {
                 logo
         );
 
-        RestaurantDAO.create(newRestaurant)
+        RestaurantService.create(newRestaurant)
                 .thenRun(() -> Platform.runLater(() -> {
                     showAlert("Success", "Restaurant added successfully.");
                     clearFields();
@@ -115,7 +139,7 @@ public class AdminController {
 
     // Delete a restaurant
     private void deleteRestaurant(int restaurantId) {
-        RestaurantDAO.delete(restaurantId)
+        RestaurantService.delete(restaurantId)
                 .thenRun(() -> Platform.runLater(() -> {
                     showAlert("Deleted", "Restaurant deleted successfully.");
                     loadRestaurants();
@@ -138,7 +162,7 @@ public class AdminController {
     // Reset weekly likes for all restaurants
     @FXML
     private void resetWeeklyStats() {
-        RestaurantDAO.resetWeeklyLikes()
+        RestaurantService.resetWeeklyLikes()
                 .thenRun(() -> Platform.runLater(() -> {
                     showAlert("Success", "Weekly likes reset.");
                     loadRestaurants();
@@ -152,7 +176,7 @@ public class AdminController {
     // Clear all user history
     @FXML
     private void clearAllHistory() {
-        HistoryDAO.deleteAllForAllUsers()
+        HistoryService.clearAllHistory()
                 .thenRun(() -> Platform.runLater(() -> showAlert("Cleared", "All user history cleared.")))
                 .exceptionally(e -> {
                     Platform.runLater(() -> showAlert("Error clearing history", e.getMessage()));
@@ -160,6 +184,41 @@ public class AdminController {
                 });
     }
 
+    // Import restaurants and menus from a CSV or JSON file
+    @FXML
+    private void importCatalog() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Catalog");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Catalog files", "*.csv", "*.json"));
+        File file = chooser.showOpenDialog(restaurantList.getScene().getWindow());
+        if (file == null) return;
+
+        importButton.setDisable(true);
+        importProgress.setVisible(true);
+        importProgress.setProgress(0);
+        importStatus.setText("Importing " + file.getName() + "...");
+
+        CatalogImporter.importFile(file.toPath(), progress -> Platform.runLater(() -> {
+                    importProgress.setProgress(progress.fraction());
+                    importStatus.setText(progress.restaurants() + " restaurants, " + progress.menuItems()
+                            + " menu items, " + progress.skipped() + " skipped");
+                }))
+                .whenComplete((report, e) -> Platform.runLater(() -> {
+                    importButton.setDisable(false);
+                    importProgress.setVisible(false);
+                    if (e != null) {
+                        importStatus.setText("Import failed.");
+                        showAlert("Error importing catalog", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                        return;
+                    }
+
+                    importStatus.setText(report.toString());
+                    String details = report.errors().isEmpty() ? "" : "\n\n" + String.join("\n", report.errors());
+                    showAlert("Import complete", report + "." + details);
+                    loadRestaurants();
+                }));
+    }
+
     // Navigate back to the previous scene
     @FXML
     private void goBack() {
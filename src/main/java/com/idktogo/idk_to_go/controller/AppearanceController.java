@@ -1,6 +1,7 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
+import com.idktogo.idk_to_go.core.Refreshable;
 import com.idktogo.idk_to_go.core.ThemeManager;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
@@ -8,7 +9,7 @@ import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.stage.Stage;
 
-public class AppearanceController {
+public class AppearanceController implements Refreshable {
 
     @FXML
     private ToggleButton lightModeToggle;
@@ -22,8 +23,12 @@ public class AppearanceController {
         ToggleGroup toggleGroup = new ToggleGroup();
         lightModeToggle.setToggleGroup(toggleGroup);
         darkModeToggle.setToggleGroup(toggleGroup);
+        onShow();
+    }
 
-        // Set the correct toggle button based on the active theme
+    // Set the correct toggle button based on the active theme
+    @Override
+    public void onShow() {
         if (ThemeManager.getActiveTheme() == ThemeManager.Theme.DARK) {
             darkModeToggle.setSelected(true);
         } else {
@@ -1,9 +1,10 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
+import com.idktogo.idk_to_go.core.Refreshable;
 import javafx.fxml.FXML;
 
-public class ClosestController {
+public class ClosestController implements Refreshable {
 
     @FXML
     private void openMaps() {
@@ -16,6 +17,10 @@ public class ClosestController {
         }
     }
 
+    // Static screen, nothing to reload
+    @Override
+    public void onShow() {}
+
     @FXML
     private void goBack() {
         Navigation.load("/com/idktogo/idk_to_go/main.fxml");
@@ -2,8 +2,8 @@ package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.dao.UserDAO;
 import com.idktogo.idk_to_go.model.User;
+import com.idktogo.idk_to_go.repository.Repositories;
 import com.idktogo.idk_to_go.service.HistoryService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -50,7 +50,7 @@ public class EditAccountController {
         String lastName = lastNameField.getText().trim();
         String password = passwordField.getText().trim();
 
-        UserDAO.findById(userId).thenCompose(optionalUser -> {
+        Repositories.users().findById(userId).thenCompose(optionalUser -> {
             if (optionalUser.isEmpty()) {
                 Platform.runLater(() -> showAlert("Error", "User not found."));
                 return CompletableFuture.completedFuture(false);
@@ -105,7 +105,7 @@ public class EditAccountController {
                     Timestamp.from(Instant.now())
             );
 
-            return UserDAO.update(updated).thenApply(success -> {
+            return Repositories.users().update(updated).thenApply(success -> {
                 Platform.runLater(() -> {
                     if (success) {
                         showAlert("Success", "Account updated successfully.");
@@ -146,10 +146,11 @@ public class EditAccountController {
             return;
         }
 
-        UserDAO.delete(userId)
+        Repositories.users().delete(userId)
                 .thenRun(() -> Platform.runLater(() -> {
                     showAlert("Deleted", "Account deleted successfully.");
                     SessionManager.logout();
+                    Navigation.clearCache();
                     Navigation.load("/com/idktogo/idk_to_go/login.fxml");
                 }))
                 .exceptionally(ex -> {
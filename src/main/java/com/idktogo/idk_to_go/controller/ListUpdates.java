@@ -0,0 +1,98 @@
+package com.idktogo.idk_to_go.controller;
+
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Brings a ListView's items in line with a freshly loaded list by changing only what differs,
+ * so unchanged rows keep their cells and the list keeps its scroll position and selection.
+ * Rows that are still in the right order relative to each other stay put; the rest are removed in
+ * one change and re-inserted in runs. When most rows would move, the list is replaced in one setAll.
+ */
+final class ListUpdates {
+
+    private ListUpdates() {}
+
+    /**
+     * Patches target so it equals next.
+     * @param idOf Identity of a row; rows with the same ID but different values are replaced in place.
+     *             If either list repeats an ID, target is replaced with next in one setAll.
+     */
+    static <T> void apply(ObservableList<T> target, List<T> next, Function<? super T, ?> idOf) {
+        Map<Object, Integer> nextIndex = new HashMap<>(next.size() * 2);
+        for (int i = 0; i < next.size(); i++) nextIndex.put(idOf.apply(next.get(i)), i);
+        if (nextIndex.size() < next.size()) {
+            target.setAll(next);
+            return;
+        }
+        target.removeIf(item -> !nextIndex.containsKey(idOf.apply(item)));
+
+        // Where each shown row belongs; the longest increasing run of those positions can stay
+        int[] positions = new int[target.size()];
+        boolean[] placed = new boolean[next.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = nextIndex.get(idOf.apply(target.get(i)));
+            if (placed[positions[i]]) {
+                target.setAll(next);
+                return;
+            }
+            placed[positions[i]] = true;
+        }
+        boolean[] stays = longestIncreasing(positions);
+
+        Set<Object> kept = new HashSet<>(positions.length * 2);
+        for (int i = 0; i < positions.length; i++) {
+            if (stays[i]) kept.add(idOf.apply(target.get(i)));
+        }
+        if (next.size() - kept.size() > next.size() / 2) {
+            target.setAll(next);
+            return;
+        }
+        if (kept.size() < target.size()) target.removeIf(item -> !kept.contains(idOf.apply(item)));
+
+        // target now holds the kept rows in their final order; fill in the new and moved rows around them
+        int i = 0;
+        while (i < next.size()) {
+            T wanted = next.get(i);
+            if (kept.contains(idOf.apply(wanted))) {
+                if (!Objects.equals(target.get(i), wanted)) target.set(i, wanted);
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < next.size() && !kept.contains(idOf.apply(next.get(end)))) end++;
+            target.addAll(i, next.subList(i, end));
+            i = end;
+        }
+    }
+
+    // Marks one longest strictly increasing subsequence of values (O(n log n))
+    private static boolean[] longestIncreasing(int[] values) {
+        int[] tails = new int[values.length];
+        int[] previous = new int[values.length];
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) lo = mid + 1;
+                else hi = mid;
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) length++;
+        }
+
+        boolean[] marked = new boolean[values.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) marked[i] = true;
+        return marked;
+    }
+}
@@ -2,9 +2,9 @@ package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.dao.UserDAO;
 import com.idktogo.idk_to_go.data.AppStorage;
 import com.idktogo.idk_to_go.model.User;
+import com.idktogo.idk_to_go.repository.Repositories;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -29,7 +29,7 @@ public class LoginController {
         }
 
         // Authenticate user
-        UserDAO.findByUsername(username)
+        Repositories.users().findByUsername(username)
                 .thenAccept(optionalUser -> Platform.runLater(() -> {
                     if (optionalUser.isPresent()) {
                         User user = optionalUser.get();
@@ -1,11 +1,13 @@
 package com.idktogo.idk_to_go.controller;
 
+import com.idktogo.idk_to_go.core.LogoCache;
 import com.idktogo.idk_to_go.core.Navigation;
+import com.idktogo.idk_to_go.core.Refreshable;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.model.HistoryEntry;
 import com.idktogo.idk_to_go.model.Restaurant;
-import com.idktogo.idk_to_go.model.UserHistory;
 import com.idktogo.idk_to_go.service.HistoryService;
+import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
@@ -14,15 +16,14 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
-public class MainController {
+public class MainController implements Refreshable {
 
     @FXML private ImageView logoImageView;
     @FXML private Button optionsButton;
@@ -46,6 +47,13 @@ public class MainController {
         setupLogoAnimation();
     }
 
+    // Coming back to the kept main scene: the hot pick and history may have changed
+    @Override
+    public void onShow() {
+        loadHotRestaurant();
+        loadHistoryList();
+    }
+
     private void setupLogoAnimation() {
         Timeline shrinkAndGrow = new Timeline(
                 new KeyFrame(Duration.seconds(0.1), new javafx.animation.KeyValue(logoImageView.scaleXProperty(), 0.9), new javafx.animation.KeyValue(logoImageView.scaleYProperty(), 0.9)),
@@ -64,7 +72,7 @@ public class MainController {
 
     // Load the "hot" restaurant (top by weekly likes)
     private void loadHotRestaurant() {
-        RestaurantDAO.topByWeeklyLikes(1)
+        RestaurantService.topByWeeklyLikes(1)
                 .thenAccept(restaurants -> Platform.runLater(() -> {
                     if (!restaurants.isEmpty()) {
                         displayHotRestaurant(restaurants.getFirst());
@@ -82,20 +90,7 @@ public class MainController {
     // Display the hot restaurant's name and logo
     private void displayHotRestaurant(Restaurant restaurant) {
         hotRestaurant.setText(restaurant.name());
-        String logoPath = restaurant.logo();
-
-        if (logoPath != null && !logoPath.isBlank()) {
-            if (!logoPath.startsWith("/")) logoPath = "/" + logoPath;
-            try (InputStream imageStream = getClass().getResourceAsStream(logoPath)) {
-                if (imageStream != null) {
-                    restaurantLogo.setImage(new Image(imageStream));
-                } else {
-                    System.err.println("Logo not found on classpath: " + logoPath);
-                }
-            } catch (Exception e) {
-                System.err.println("Error loading restaurant logo: " + e.getMessage());
-            }
-        }
+        LogoCache.into(restaurantLogo, restaurant.logo());
     }
 
     // Load and display user's interaction history
@@ -108,34 +103,28 @@ public class MainController {
             return;
         }
 
-        HistoryService.listByUser(userId)
-                .thenAccept(historyList -> Platform.runLater(() -> {
+        HistoryService.listEntriesByUser(userId)
+                .thenAccept(entries -> Platform.runLater(() -> {
                     historyBox.getChildren().clear();
 
-                    if (historyList.isEmpty()) {
+                    if (entries.isEmpty()) {
                         historyBox.getChildren().add(new Label("No history yet."));
                         return;
                     }
 
-                    for (UserHistory entry : historyList) {
-                        RestaurantDAO.findById(entry.restaurantId())
-                                .thenAccept(optRestaurant -> optRestaurant.ifPresent(restaurant ->
-                                        Platform.runLater(() -> {
-                                            Button historyBtn = new Button(restaurant.name());
-                                            historyBtn.getStyleClass().add("history-button");
-                                            historyBtn.setOnAction(e -> Navigation.load(
-                                                    "/com/idktogo/idk_to_go/restaurant.fxml",
-                                                    controller -> ((RestaurantController) controller)
-                                                            .setRestaurantId(restaurant.id())
-                                            ));
-                                            historyBox.getChildren().add(historyBtn);
-                                        })
-                                ))
-                                .exceptionally(ex -> {
-                                    System.err.println("Error loading restaurant from history: " + ex.getMessage());
-                                    return null;
-                                });
+                    List<Button> buttons = new ArrayList<>(entries.size());
+                    for (HistoryEntry entry : entries) {
+                        Restaurant restaurant = entry.restaurant();
+                        Button historyBtn = new Button(restaurant.name());
+                        historyBtn.getStyleClass().add("history-button");
+                        historyBtn.setOnAction(e -> Navigation.load(
+                                "/com/idktogo/idk_to_go/restaurant.fxml",
+                                controller -> ((RestaurantController) controller)
+                                        .setRestaurantId(restaurant.id())
+                        ));
+                        buttons.add(historyBtn);
                     }
+                    historyBox.getChildren().setAll(buttons);
                 }))
                 .exceptionally(ex -> {
                     System.err.println("Error loading user history: " + ex.getMessage());
@@ -170,7 +159,7 @@ public class MainController {
     // Open the restaurant scene for the hot restaurant
     @FXML
     private void openRestaurantScene() {
-        RestaurantDAO.topByWeeklyLikes(1)
+        RestaurantService.topByWeeklyLikes(1)
                 .thenAccept(restaurants -> Platform.runLater(() -> {
                     if (!restaurants.isEmpty()) {
                         Navigation.load("/com/idktogo/idk_to_go/restaurant.fxml",
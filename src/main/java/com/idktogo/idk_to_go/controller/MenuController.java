@@ -1,25 +1,30 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
-import com.idktogo.idk_to_go.dao.MenuItemDAO;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
 import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.service.MenuService;
+import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
-import javafx.scene.layout.VBox;
 
 public class MenuController {
 
     @FXML private Label restaurantNameLabel;
-    @FXML private VBox menuItemsBox;
+    @FXML private ListView<MenuItem> menuItemsList;
     @FXML private TextField itemNameField;
     @FXML private TextField itemPriceField;
 
     private int restaurantId;
 
+    @FXML
+    private void initialize() {
+        menuItemsList.setCellFactory(list -> new MenuItemCell());
+        menuItemsList.setPlaceholder(new Label("No menu items available"));
+    }
+
     // Sets the restaurant ID and loads its menu
     public void setRestaurantId(int restaurantId) {
         this.restaurantId = restaurantId;
@@ -28,9 +33,9 @@ public class MenuController {
 
     // Loads restaurant name and menu items
     private void loadMenuItems() {
-        menuItemsBox.getChildren().clear();
+        menuItemsList.getItems().clear();
 
-        RestaurantDAO.findById(restaurantId)
+        RestaurantService.findById(restaurantId)
                 .thenAccept(restaurantOpt -> restaurantOpt.ifPresent(r ->
                         Platform.runLater(() ->
                                 restaurantNameLabel.setText(r.name() + " Menu")
@@ -40,36 +45,50 @@ public class MenuController {
                     return null;
                 });
 
-        MenuItemDAO.listByRestaurant(restaurantId)
-                .thenAccept(items -> Platform.runLater(() -> {
-                    menuItemsBox.getChildren().clear();
-
-                    if (items.isEmpty()) {
-                        menuItemsBox.getChildren().add(new Label("No menu items available"));
-                        return;
-                    }
-
-                    for (MenuItem item : items) {
-                        HBox row = new HBox(10);
-                        Label itemNameLabel = new Label(item.itemName());
-                        Label itemPriceLabel = new Label(String.format("$%.2f", item.price()));
-                        Button deleteButton = new Button("Delete");
-
-                        HBox.setHgrow(itemNameLabel, Priority.ALWAYS);
-                        itemNameLabel.setMaxWidth(Double.MAX_VALUE);
-
-                        deleteButton.setOnAction(e -> deleteMenuItem(item.id()));
+        refreshMenuItems();
+    }
 
-                        row.getChildren().addAll(itemNameLabel, itemPriceLabel, deleteButton);
-                        menuItemsBox.getChildren().add(row);
-                    }
-                }))
+    // Re-reads the menu (served from the menu cache after a local add/delete) and updates only the changed rows
+    private void refreshMenuItems() {
+        MenuService.listByRestaurant(restaurantId)
+                .thenAccept(items -> Platform.runLater(() ->
+                        ListUpdates.apply(menuItemsList.getItems(), items, MenuItem::id)))
                 .exceptionally(ex -> {
                     System.err.println("Failed to load menu items: " + ex.getMessage());
                     return null;
                 });
     }
 
+    // A reusable menu row: name, price and a delete button
+    private final class MenuItemCell extends ListCell<MenuItem> {
+        private final HBox row = new HBox(10);
+        private final Label itemNameLabel = new Label();
+        private final Label itemPriceLabel = new Label();
+
+        MenuItemCell() {
+            Button deleteButton = new Button("Delete");
+            deleteButton.setOnAction(e -> deleteMenuItem(getItem().id()));
+
+            HBox.setHgrow(itemNameLabel, Priority.ALWAYS);
+            itemNameLabel.setMaxWidth(Double.MAX_VALUE);
+
+            row.getChildren().addAll(itemNameLabel, itemPriceLabel, deleteButton);
+        }
+
+        @Override
+        protected void updateItem(MenuItem item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+
+            itemNameLabel.setText(item.itemName());
+            itemPriceLabel.setText(String.format("$%.2f", item.price()));
+            setGraphic(row);
+        }
+    }
+
     // Adds a new menu item
     @FXML
     private void addMenuItem() {
@@ -86,11 +105,11 @@ public class MenuController {
 
             MenuItem newItem = new MenuItem(0, restaurantId, name, price);
 
-            MenuItemDAO.create(newItem)
+            MenuService.create(newItem)
                     .thenRun(() -> Platform.runLater(() -> {
                         itemNameField.clear();
                         itemPriceField.clear();
-                        loadMenuItems();
+                        refreshMenuItems();
                     }))
                     .exceptionally(ex -> {
                         Platform.runLater(() ->
@@ -105,8 +124,8 @@ public class MenuController {
 
     // Deletes a menu item
     private void deleteMenuItem(int menuItemId) {
-        MenuItemDAO.delete(menuItemId)
-                .thenRun(() -> Platform.runLater(this::loadMenuItems))
+        MenuService.delete(restaurantId, menuItemId)
+                .thenRun(() -> Platform.runLater(this::refreshMenuItems))
                 .exceptionally(ex -> {
                     System.err.println("Failed to delete menu item: " + ex.getMessage());
                     return null;
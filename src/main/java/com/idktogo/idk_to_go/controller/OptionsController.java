@@ -1,23 +1,36 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
+import com.idktogo.idk_to_go.core.Refreshable;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.dao.UserDAO;
+import com.idktogo.idk_to_go.repository.Repositories;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 
-public class OptionsController {
+public class OptionsController implements Refreshable {
 
     @FXML private Button adminButton;
 
     @FXML
     private void initialize() {
+        checkAdmin();
+        Navigation.preload("/com/idktogo/idk_to_go/appearance.fxml", "/com/idktogo/idk_to_go/about_app.fxml");
+    }
+
+    // A different user may be logged in since the scene was last shown
+    @Override
+    public void onShow() {
+        checkAdmin();
+    }
+
+    // Show the admin button only to admins
+    private void checkAdmin() {
         adminButton.setVisible(false); // Hide until user is verified as admin
 
         Integer userId = SessionManager.getUserId();
         if (userId != null) {
-            UserDAO.findById(userId).thenAccept(optionalUser -> {
+            Repositories.users().findById(userId).thenAccept(optionalUser -> {
                 optionalUser.ifPresent(user -> {
                     boolean isAdmin = user.isAdmin();
                     Platform.runLater(() -> adminButton.setVisible(isAdmin));
@@ -63,6 +76,7 @@ public class OptionsController {
     @FXML
     private void logout() {
         SessionManager.logout();
+        Navigation.clearCache();
         Navigation.load("/com/idktogo/idk_to_go/login.fxml");
     }
 }
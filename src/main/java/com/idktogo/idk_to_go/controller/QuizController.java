@@ -2,8 +2,13 @@ package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
 import com.idktogo.idk_to_go.core.ClaudeConfig;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.core.SessionManager;
 import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.UserHistory;
+import com.idktogo.idk_to_go.service.HistoryService;
+import com.idktogo.idk_to_go.service.QuizPool;
+import com.idktogo.idk_to_go.service.QuizService;
+import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -17,12 +22,8 @@ import org.json.JSONObject;
 
 import java.awt.Desktop;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 public class QuizController {
 
@@ -34,20 +35,28 @@ public class QuizController {
     @FXML private VBox overlayPane;
     @FXML private VBox recommendationCard;
 
-    private static final String CLAUDE_API_URL = "https://api.anthropic.com/v1/messages";
-    private static final String CLAUDE_MODEL = "claude-sonnet-4-20250514";
-    private static final String ANTHROPIC_VERSION = "2023-06-01";
+    private boolean llmReady;
+    private volatile List<Restaurant> allRestaurants;
+    private volatile List<UserHistory> userHistory = List.of();
 
-    private HttpClient httpClient;
-    private String apiKey;
-    private List<Restaurant> allRestaurants;
+    // The LLM call in flight, cancelled when the user leaves the screen
+    private CompletableFuture<?> pendingCall;
+
+    // Incremented per recommendation request, so late streamed fields from an older request are ignored
+    private int recommendationRequest;
+
+    // Parts of the recommendation overlay that streamed fields fill in
+    private Label recommendedNameLabel;
+    private Label recommendedReasonLabel;
+    private VBox alternativesBox;
+    private Restaurant recommendedRestaurant;
     private final Map<String, String> questionAnswerMap = new LinkedHashMap<>();
 
     @FXML
     public void initialize() {
         try {
-            this.apiKey = ClaudeConfig.getApiKey();
-            this.httpClient = HttpClient.newHttpClient();
+            ClaudeConfig.getApiKey();
+            this.llmReady = true;
             System.out.println("Claude client initialized successfully");
         } catch (Exception e) {
             System.err.println("Failed to initialize Claude client: " + e.getMessage());
@@ -65,18 +74,30 @@ public class QuizController {
             });
         }
 
-        if (httpClient != null && apiKey != null) {
+        if (llmReady) {
             loadAllRestaurantsAndGenerateQuiz();
         }
     }
 
+    // The quiz doesn't depend on the restaurants or history (only the recommendation does), so load them all at once
     private void loadAllRestaurantsAndGenerateQuiz() {
-        quizStatusLabel.setText("Loading restaurants...");
-        RestaurantDAO.listAll()
+        generateQuiz();
+
+        // Used to rank candidates; without it the ranking falls back to answers and popularity
+        Integer userId = SessionManager.getUserId();
+        if (userId != null) {
+            HistoryService.listByUser(userId)
+                    .thenAccept(history -> this.userHistory = history)
+                    .exceptionally(ex -> {
+                        System.err.println("Error loading history for recommendations: " + ex.getMessage());
+                        return null;
+                    });
+        }
+
+        RestaurantService.listAll()
                 .thenAccept(restaurants -> {
                     this.allRestaurants = restaurants;
                     System.out.println("Loaded " + restaurants.size() + " restaurants");
-                    Platform.runLater(this::generateQuiz);
                 })
                 .exceptionally(ex -> {
                     Platform.runLater(() -> {
@@ -88,44 +109,8 @@ public class QuizController {
                 });
     }
 
-    private String callClaudeApi(String systemMessage, String userMessage, int maxTokens, double temperature) throws Exception {
-        JSONObject requestBody = new JSONObject();
-        requestBody.put("model", CLAUDE_MODEL);
-        requestBody.put("max_tokens", maxTokens);
-
-        JSONArray messages = new JSONArray();
-        JSONObject userMsg = new JSONObject();
-        userMsg.put("role", "user");
-        userMsg.put("content", userMessage);
-        messages.put(userMsg);
-        requestBody.put("messages", messages);
-
-        requestBody.put("system", systemMessage);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(CLAUDE_API_URL))
-                .header("Content-Type", "application/json")
-                .header("x-api-key", apiKey)
-                .header("anthropic-version", ANTHROPIC_VERSION)
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("API request failed with status " + response.statusCode() + ": " + response.body());
-        }
-
-        JSONObject responseJson = new JSONObject(response.body());
-        JSONArray content = responseJson.getJSONArray("content");
-        if (content.length() > 0) {
-            return content.getJSONObject(0).getString("text");
-        }
-        return "{}";
-    }
-
     private void generateQuiz() {
-        if (httpClient == null || apiKey == null) {
+        if (!llmReady) {
             quizStatusLabel.setText("Claude client not initialized.");
             return;
         }
@@ -133,49 +118,12 @@ public class QuizController {
         quizStatusLabel.setText("Generating your personalized quiz...");
         submitButton.setDisable(true);
 
-        CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<String> call = QuizPool.take();
+        pendingCall = call;
+        call.thenAccept(jsonResponse -> Platform.runLater(() -> {
             try {
-                String systemMessage = "You are a creative quiz generator. Output only valid JSON.";
-                String userMessage = """
-                        Generate a JSON array of exactly 6 creative, fun, and quirky multiple-choice questions
-                        to determine what a user should eat. Each question should have 3-4 answer options.
-
-                        Format as an array of objects:
-                        [
-                          {
-                            "question": "What's your vibe today?",
-                            "options": ["Energetic", "Chill", "Adventurous", "Cozy"]
-                          },
-                          ...
-                        ]
-
-                        Include varied questions about mood, flavor preferences, textures, cuisine types,
-                        eating context, and adventurousness.
-
-                        Make options concise (1-2 words) and varied (3-4 options per question).
-                        Output ONLY valid JSON, nothing else.
-                        """;
-
-                System.out.println("Sending request to Claude for quiz generation...");
-                String response = callClaudeApi(systemMessage, userMessage, 800, 0.9);
-                System.out.println("Received response: " + response);
-
-                return response;
-
-            } catch (Exception e) {
-                System.err.println("Error in quiz generation: " + e.getMessage());
-                e.printStackTrace();
-                throw new RuntimeException("Failed to generate quiz: " + e.getMessage(), e);
-            }
-        }).thenAccept(jsonResponse -> Platform.runLater(() -> {
-            try {
-                String cleanedResponse = cleanJsonResponse(jsonResponse);
-                System.out.println("Parsing JSON: " + cleanedResponse);
-                JSONArray questions = new JSONArray(cleanedResponse);
-
-                if (questions.length() < 5 || questions.length() > 8) {
-                    throw new Exception("Expected 5-8 questions, got " + questions.length());
-                }
+                System.out.println("Parsing JSON: " + jsonResponse);
+                JSONArray questions = QuizService.parseQuiz(jsonResponse);
 
                 quizContainer.getChildren().clear();
                 questionAnswerMap.clear();
@@ -204,6 +152,7 @@ public class QuizController {
                         "The AI returned an invalid format. Please try again.");
             }
         })).exceptionally(ex -> {
+            if (call.isCancelled()) return null;
             Platform.runLater(() -> {
                 quizStatusLabel.setText("Error generating quiz.");
                 submitButton.setDisable(false);
@@ -311,19 +260,9 @@ public class QuizController {
         return card;
     }
 
-    private String buildRestaurantListText() {
-        if (allRestaurants == null || allRestaurants.isEmpty()) {
-            return "No restaurants available.";
-        }
-        return allRestaurants.stream()
-                .map(r -> String.format("- %s (Category: %s, Location: %s)",
-                        r.name(), r.category(), r.location()))
-                .collect(Collectors.joining("\n"));
-    }
-
     @FXML
     private void generateRecommendation() {
-        if (httpClient == null || apiKey == null) {
+        if (!llmReady) {
             showError("Error", "System not ready", "Claude client is not initialized.");
             return;
         }
@@ -354,61 +293,23 @@ public class QuizController {
             }
         }
 
-        StringBuilder preferences = new StringBuilder("User preferences:\n");
-        questionAnswerMap.forEach((question, answer) ->
-                preferences.append("- ").append(question).append(": ").append(answer).append("\n"));
-
         quizStatusLabel.setText("Analyzing your preferences...");
         submitButton.setDisable(true);
 
-        CompletableFuture.supplyAsync(() -> {
+        int request = ++recommendationRequest;
+        CompletableFuture<String> call = QuizService.recommend(questionAnswerMap, allRestaurants, userHistory,
+                streamedRecommendation(request));
+        pendingCall = call;
+        call.thenAccept(recommendationJson -> Platform.runLater(() -> {
             try {
-                String restaurantList = buildRestaurantListText();
-
-                String systemMessage = String.format("""
-                        You are a helpful food recommendation assistant.
-
-                        AVAILABLE RESTAURANTS:
-                        %s
-
-                        RULES:
-                        1. You MUST ONLY recommend restaurants from the list above
-                        2. Choose the single best match based on user preferences
-                        3. If no perfect match exists, pick the closest option and explain why
-                        4. Output ONLY valid JSON in this exact format:
-                        {
-                          "recommended_name": "exact restaurant name from list",
-                          "reason": "2-3 sentence explanation of why this matches their preferences",
-                          "alternatives": ["alternative 1 name", "alternative 2 name"]
-                        }
-
-                        Do not include any text outside the JSON object.
-                        """, restaurantList);
-
-                System.out.println("Sending request to Claude for recommendation...");
-                String response = callClaudeApi(systemMessage, preferences.toString(), 400, 0.5);
-                System.out.println("Received recommendation: " + response);
-
-                return response;
-
-            } catch (Exception e) {
-                System.err.println("Error generating recommendation: " + e.getMessage());
-                e.printStackTrace();
-                throw new RuntimeException("Failed to generate recommendation: " + e.getMessage(), e);
-            }
-        }).thenAccept(recommendationJson -> Platform.runLater(() -> {
-            try {
-                String cleanedResponse = cleanJsonResponse(recommendationJson);
-                JSONObject recommendation = new JSONObject(cleanedResponse);
+                System.out.println("Received recommendation: " + recommendationJson);
+                JSONObject recommendation = new JSONObject(recommendationJson);
 
                 String restaurantName = recommendation.getString("recommended_name");
                 String reason = recommendation.getString("reason");
                 JSONArray alternatives = recommendation.getJSONArray("alternatives");
 
-                Restaurant restaurant = allRestaurants.stream()
-                        .filter(r -> r.name().equalsIgnoreCase(restaurantName))
-                        .findFirst()
-                        .orElse(null);
+                Restaurant restaurant = findRestaurant(restaurantName);
 
                 quizStatusLabel.setText("Found your perfect match!");
                 submitButton.setDisable(false);
@@ -423,6 +324,7 @@ public class QuizController {
                 showError("Parsing Error", "Could not parse recommendation", e.getMessage());
             }
         })).exceptionally(ex -> {
+            if (call.isCancelled()) return null;
             Platform.runLater(() -> {
                 quizStatusLabel.setText("Error generating recommendation.");
                 submitButton.setDisable(false);
@@ -433,6 +335,53 @@ public class QuizController {
         });
     }
 
+    // Open the overlay when the streamed name arrives and fill in the other fields as they follow.
+    // Fields that arrive before the name are kept until this request's overlay exists.
+    private QuizService.RecommendationListener streamedRecommendation(int request) {
+        return new QuizService.RecommendationListener() {
+            // Touched only on the JavaFX thread
+            private boolean shown;
+            private String reason = "...";
+            private final JSONArray alternatives = new JSONArray();
+
+            @Override
+            public void onName(String restaurantName) {
+                Platform.runLater(() -> {
+                    if (request != recommendationRequest) return;
+                    showRecommendationOverlay(findRestaurant(restaurantName), reason, alternatives);
+                    if (recommendedRestaurant == null) recommendedNameLabel.setText(restaurantName);
+                    shown = true;
+                    quizStatusLabel.setText("Found your perfect match!");
+                });
+            }
+
+            @Override
+            public void onReason(String text) {
+                Platform.runLater(() -> {
+                    reason = text;
+                    if (shown && request == recommendationRequest) recommendedReasonLabel.setText(text);
+                });
+            }
+
+            @Override
+            public void onAlternative(String restaurantName) {
+                Platform.runLater(() -> {
+                    alternatives.put(restaurantName);
+                    if (shown && request == recommendationRequest) {
+                        alternativesBox.getChildren().add(alternativeLabel(restaurantName));
+                    }
+                });
+            }
+        };
+    }
+
+    private Restaurant findRestaurant(String restaurantName) {
+        return allRestaurants.stream()
+                .filter(r -> r.name().equalsIgnoreCase(restaurantName))
+                .findFirst()
+                .orElse(null);
+    }
+
     private void showRecommendationOverlay(Restaurant restaurant, String reason, JSONArray alternatives) {
         recommendationCard.getChildren().clear();
 
@@ -471,6 +420,8 @@ public class QuizController {
         titleLabel.setFont(Font.font("System", FontWeight.BOLD, 22));
         titleLabel.setStyle("-fx-text-fill: #2c3e50;");
 
+        recommendedRestaurant = restaurant;
+
         Label restaurantLabel = new Label(restaurant != null ? restaurant.name() : "Restaurant");
         restaurantLabel.setFont(Font.font("System", FontWeight.BOLD, 28));
         restaurantLabel.setStyle("-fx-text-fill: #0BBFFF;");
@@ -499,10 +450,7 @@ public class QuizController {
 
         VBox altBox = new VBox(4);
         for (int i = 0; i < alternatives.length(); i++) {
-            Label altLabel = new Label("- " + alternatives.getString(i));
-            altLabel.setFont(Font.font("System", 12));
-            altLabel.setStyle("-fx-text-fill: #666;");
-            altBox.getChildren().add(altLabel);
+            altBox.getChildren().add(alternativeLabel(alternatives.getString(i)));
         }
 
         Separator separator2 = new Separator();
@@ -537,7 +485,7 @@ public class QuizController {
                         "-fx-background-radius: 8;" +
                         "-fx-cursor: hand;"
         ));
-        mapsButton.setOnAction(e -> openInMaps(restaurant));
+        mapsButton.setOnAction(e -> openInMaps(recommendedRestaurant));
 
         Button retakeButton = new Button("Retake Quiz");
         retakeButton.setMaxWidth(Double.MAX_VALUE);
@@ -596,9 +544,20 @@ public class QuizController {
                 buttonBox
         );
 
+        recommendedNameLabel = restaurantLabel;
+        recommendedReasonLabel = reasonText;
+        alternativesBox = altBox;
+
         overlayPane.setVisible(true);
     }
 
+    private Label alternativeLabel(String restaurantName) {
+        Label altLabel = new Label("- " + restaurantName);
+        altLabel.setFont(Font.font("System", 12));
+        altLabel.setStyle("-fx-text-fill: #666;");
+        return altLabel;
+    }
+
     private void openInMaps(Restaurant restaurant) {
         if (restaurant != null && restaurant.location() != null && !restaurant.location().isBlank()) {
             try {
@@ -613,20 +572,6 @@ public class QuizController {
         overlayPane.setVisible(false);
     }
 
-    private String cleanJsonResponse(String response) {
-        String cleaned = response.trim();
-        if (cleaned.startsWith("```json")) {
-            cleaned = cleaned.substring(7);
-        }
-        if (cleaned.startsWith("```")) {
-            cleaned = cleaned.substring(3);
-        }
-        if (cleaned.endsWith("```")) {
-            cleaned = cleaned.substring(0, cleaned.length() - 3);
-        }
-        return cleaned.trim();
-    }
-
     private void showError(String title, String header, String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -637,6 +582,7 @@ public class QuizController {
 
     @FXML
     private void goBack() {
+        if (pendingCall != null) pendingCall.cancel(true);
         Navigation.load("/com/idktogo/idk_to_go/main.fxml");
     }
 }
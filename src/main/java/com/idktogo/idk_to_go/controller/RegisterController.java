@@ -1,8 +1,8 @@
 package com.idktogo.idk_to_go.controller;
 
 import com.idktogo.idk_to_go.core.Navigation;
-import com.idktogo.idk_to_go.dao.UserDAO;
 import com.idktogo.idk_to_go.model.User;
+import com.idktogo.idk_to_go.repository.Repositories;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -34,14 +34,14 @@ public class RegisterController {
             return;
         }
 
-        UserDAO.findByUsername(username)
+        Repositories.users().findByUsername(username)
                 .thenCompose(optionalUser -> {
                     if (optionalUser.isPresent()) {
                         Platform.runLater(() -> showAlert("Error", "Username is already taken."));
                         return CompletableFuture.completedFuture(null);
                     }
 
-                    return UserDAO.findByEmail(email)
+                    return Repositories.users().findByEmail(email)
                             .thenCompose(optionalEmail -> {
                                 if (optionalEmail.isPresent()) {
                                     Platform.runLater(() -> showAlert("Error", "Email is already taken."));
@@ -59,7 +59,7 @@ public class RegisterController {
                                         Timestamp.from(Instant.now())
                                 );
 
-                                return UserDAO.create(newUser)
+                                return Repositories.users().create(newUser)
                                         .thenRun(() -> Platform.runLater(() -> {
                                             showAlert("Success", "Registration successful! Redirecting to login...");
                                             goToLogin();
@@ -1,23 +1,21 @@
 package com.idktogo.idk_to_go.controller;
 
+import com.idktogo.idk_to_go.core.LogoCache;
 import com.idktogo.idk_to_go.core.Navigation;
 import com.idktogo.idk_to_go.core.SessionManager;
-import com.idktogo.idk_to_go.dao.MenuItemDAO;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
 import com.idktogo.idk_to_go.model.MenuItem;
 import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.service.MenuService;
 import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 
 import java.awt.Desktop;
-import java.io.InputStream;
 import java.net.URI;
 
 public class RestaurantController {
@@ -39,7 +37,7 @@ public class RestaurantController {
 
     // Loads restaurant details from the database
     private void loadRestaurantDetails() {
-        RestaurantDAO.findById(restaurantId)
+        RestaurantService.findById(restaurantId)
                 .thenAccept(optionalRestaurant -> Platform.runLater(() -> {
                     if (optionalRestaurant.isEmpty()) {
                         nameLabel.setText("Restaurant Not Found");
@@ -53,21 +51,7 @@ public class RestaurantController {
                     locationLabel.setText("Open in Maps");
 
                     // Load restaurant logo
-                    if (r.logo() != null && !r.logo().isBlank()) {
-                        try {
-                            String logoPath = r.logo();
-                            if (!logoPath.startsWith("/")) logoPath = "/" + logoPath;
-                            try (InputStream stream = getClass().getResourceAsStream(logoPath)) {
-                                if (stream != null) {
-                                    logoImage.setImage(new Image(stream));
-                                } else {
-                                    System.err.println("Logo not found: " + logoPath);
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Error loading logo: " + e.getMessage());
-                        }
-                    }
+                    LogoCache.into(logoImage, r.logo());
 
                     loadMenuItems();
                 }))
@@ -82,7 +66,7 @@ public class RestaurantController {
     private void loadMenuItems() {
         menuList.getChildren().clear();
 
-        MenuItemDAO.listByRestaurant(restaurantId)
+        MenuService.listByRestaurant(restaurantId)
                 .thenAccept(items -> Platform.runLater(() -> {
                     menuList.getChildren().clear();
 
@@ -121,8 +105,9 @@ public class RestaurantController {
         }
 
         RestaurantService.handleLike(userId, restaurantId)
-                .thenRun(() -> Platform.runLater(() ->
-                        System.out.println("Restaurant liked successfully.")))
+                .thenAccept(updated -> updated.ifPresent(r ->
+                        System.out.println("Restaurant liked successfully (likes=" + r.likes()
+                                + ", dislikes=" + r.dislikes() + ", netScore=" + r.netScore() + ").")))
                 .exceptionally(ex -> {
                     System.err.println("Error liking restaurant: " + ex.getMessage());
                     return null;
@@ -139,8 +124,9 @@ public class RestaurantController {
         }
 
         RestaurantService.handleDislike(userId, restaurantId)
-                .thenRun(() -> Platform.runLater(() ->
-                        System.out.println("Restaurant disliked successfully.")))
+                .thenAccept(updated -> updated.ifPresent(r ->
+                        System.out.println("Restaurant disliked successfully (likes=" + r.likes()
+                                + ", dislikes=" + r.dislikes() + ", netScore=" + r.netScore() + ").")))
                 .exceptionally(ex -> {
                     System.err.println("Error disliking restaurant: " + ex.getMessage());
                     return null;
@@ -1,105 +1,126 @@
 package com.idktogo.idk_to_go.controller;
 
+import com.idktogo.idk_to_go.core.LogoCache;
 import com.idktogo.idk_to_go.core.Navigation;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.core.Refreshable;
 import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.service.RestaurantService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
 
-public class TrendingController {
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-    @FXML private VBox trendingList;
+public class TrendingController implements Refreshable {
+
+    // Height of one trending row (fixed so the ListView can skip measuring cells)
+    private static final double ROW_HEIGHT = 48;
+
+    @FXML private ListView<Restaurant> trendingList;
     @FXML private Button weeklyButton;
     @FXML private Button allTimeButton;
 
+    private boolean showingWeekly = true;
+
     @FXML
     private void initialize() {
+        trendingList.setCellFactory(list -> new RestaurantCell());
+        trendingList.setFixedCellSize(ROW_HEIGHT);
+
         highlightTab(weeklyButton);
         loadWeeklyTrending();
     }
 
+    // Reload the tab that was open when the scene was last shown
+    @Override
+    public void onShow() {
+        if (showingWeekly) loadWeeklyTrending();
+        else loadAllTimeTrending();
+    }
+
     // Show weekly trending restaurants
     @FXML
     private void showWeekly() {
+        showingWeekly = true;
         highlightTab(weeklyButton);
         loadWeeklyTrending();
     }
 
     private void loadWeeklyTrending() {
-        trendingList.getChildren().clear();
-
-        RestaurantDAO.topByWeeklyLikes(10)
-                .thenAccept(restaurants -> Platform.runLater(() -> {
-                    trendingList.getChildren().clear();
-
-                    if (restaurants.isEmpty()) {
-                        trendingList.getChildren().add(new Label("No trending restaurants this week."));
-                        return;
-                    }
-
-                    for (Restaurant r : restaurants) {
-                        trendingList.getChildren().add(createRestaurantRow(r));
-                    }
-                }))
-                .exceptionally(ex -> {
-                    Platform.runLater(() -> trendingList.getChildren().add(
-                            new Label("Error loading weekly trending: " + ex.getMessage())));
-                    return null;
-                });
+        showRestaurants(RestaurantService.topByWeeklyLikes(10),
+                "No trending restaurants this week.", "Error loading weekly trending: ");
     }
 
     // Show all-time trending restaurants
     @FXML
     private void showAllTime() {
+        showingWeekly = false;
         highlightTab(allTimeButton);
         loadAllTimeTrending();
     }
 
     private void loadAllTimeTrending() {
-        trendingList.getChildren().clear();
-
-        RestaurantDAO.topByNetScore()
-                .thenAccept(restaurants -> Platform.runLater(() -> {
-                    trendingList.getChildren().clear();
-
-                    if (restaurants.isEmpty()) {
-                        trendingList.getChildren().add(new Label("No all-time trending restaurants found."));
-                        return;
-                    }
+        showRestaurants(RestaurantService.topByNetScore(),
+                "No all-time trending restaurants found.", "Error loading all-time trending: ");
+    }
 
-                    for (Restaurant r : restaurants) {
-                        trendingList.getChildren().add(createRestaurantRow(r));
-                    }
+    // Update the list in place once the ranking arrives
+    private void showRestaurants(CompletableFuture<List<Restaurant>> ranking, String emptyText, String errorText) {
+        ranking.thenAccept(restaurants -> Platform.runLater(() -> {
+                    trendingList.setPlaceholder(new Label(emptyText));
+                    ListUpdates.apply(trendingList.getItems(), restaurants, Restaurant::id);
                 }))
                 .exceptionally(ex -> {
-                    Platform.runLater(() -> trendingList.getChildren().add(
-                            new Label("Error loading all-time trending: " + ex.getMessage())));
+                    Platform.runLater(() -> {
+                        trendingList.getItems().clear();
+                        trendingList.setPlaceholder(new Label(errorText + ex.getMessage()));
+                    });
                     return null;
                 });
     }
 
-    // Create a display row for a restaurant
-    private HBox createRestaurantRow(Restaurant restaurant) {
-        HBox row = new HBox(10);
-        row.setStyle("""
-            -fx-padding: 8;
-            -fx-cursor: hand;
-            -fx-alignment: CENTER_LEFT;
-        """.trim());
-
-        Label nameLabel = new Label(restaurant.name());
-        nameLabel.setStyle("-fx-font-size: 16;");
-
-        Label scoreLabel = new Label("Score: " + restaurant.netScore());
-        scoreLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #666;");
+    // A reusable trending row: logo, name and score
+    private final class RestaurantCell extends ListCell<Restaurant> {
+        private final HBox row = new HBox(10);
+        private final ImageView logo = LogoCache.icon(null);
+        private final Label nameLabel = new Label();
+        private final Label scoreLabel = new Label();
+
+        RestaurantCell() {
+            row.setStyle("""
+                -fx-padding: 8;
+                -fx-cursor: hand;
+                -fx-alignment: CENTER_LEFT;
+            """.trim());
+            nameLabel.setStyle("-fx-font-size: 16;");
+            scoreLabel.setStyle("-fx-font-size: 14; -fx-text-fill: #666;");
+            row.getChildren().addAll(logo, nameLabel, scoreLabel);
+
+            setOnMouseClicked(event -> {
+                if (!isEmpty() && getItem() != null) openRestaurantScene(getItem().id());
+            });
+        }
+
+        @Override
+        protected void updateItem(Restaurant restaurant, boolean empty) {
+            super.updateItem(restaurant, empty);
+            if (empty || restaurant == null) {
+                setGraphic(null);
+                LogoCache.into(logo, null);
+                return;
+            }
 
-        row.getChildren().addAll(nameLabel, scoreLabel);
-        row.setOnMouseClicked(event -> openRestaurantScene(restaurant.id()));
-        return row;
+            nameLabel.setText(restaurant.name());
+            scoreLabel.setText("Score: " + restaurant.netScore());
+            LogoCache.into(logo, restaurant.logo());
+            setGraphic(row);
+        }
     }
 
     // Open the restaurant details scene
@@ -0,0 +1,93 @@
+package com.idktogo.idk_to_go.core;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Application-wide tunables (pool sizes, timeouts, cache limits, ...).
+ * Values are resolved from system properties first, then the project
+ * config.properties, then ~/.idktogo/config.properties, then the caller's default.
+ */
+public final class AppConfig {
+    private static final String CONFIG_FILE = "config.properties";
+    private static final String USER_CONFIG_DIR = ".idktogo";
+
+    private static volatile Properties fileProps;
+
+    private AppConfig() {}
+
+    // Get a string value, or the default if unset
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) value = props().getProperty(key);
+        return (value == null || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    // Get an int value, or the default if unset or malformed
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid int for '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
+    // Get a long value, or the default if unset or malformed
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid long for '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
+    // Get a boolean value, or the default if unset
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    // Drop the cached file properties so the next read reloads them
+    public static void reload() {
+        fileProps = null;
+    }
+
+    private static Properties props() {
+        Properties p = fileProps;
+        if (p == null) {
+            synchronized (AppConfig.class) {
+                p = fileProps;
+                if (p == null) {
+                    p = new Properties();
+                    loadInto(p, Paths.get(System.getProperty("user.home"), USER_CONFIG_DIR, CONFIG_FILE));
+                    loadInto(p, Paths.get(CONFIG_FILE)); // Project file wins over user home
+                    fileProps = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    private static void loadInto(Properties target, Path path) {
+        if (!Files.exists(path)) return;
+        try (InputStream input = new FileInputStream(path.toFile())) {
+            target.load(input);
+        } catch (FileNotFoundException e) {
+            // Raced with a delete, nothing to load
+        } catch (IOException e) {
+            System.err.println("Error reading config file: " + path + " (" + e.getMessage() + ")");
+        }
+    }
+}
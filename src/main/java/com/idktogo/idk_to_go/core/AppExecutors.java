@@ -0,0 +1,148 @@
+package com.idktogo.idk_to_go.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared executors for blocking work (JDBC, HTTP, image decoding).
+ * Every task runs on its own virtual thread; a per-subsystem bulkhead caps how many
+ * tasks of that kind run at once, so a slow database can't starve LLM calls and vice versa.
+ * Limits are read from {@link AppConfig} under "executor.&lt;subsystem&gt;.maxConcurrency".
+ */
+public final class AppExecutors {
+
+    public enum Subsystem { DATABASE, LLM, IMAGES }
+
+    /**
+     * Snapshot of a bulkhead's counters.
+     */
+    public record Stats(Subsystem subsystem, int limit, int active, int queued, long completed, long failed) {
+        @Override
+        public String toString() {
+            return subsystem + "[limit=" + limit + ", active=" + active + ", queued=" + queued
+                    + ", completed=" + completed + ", failed=" + failed + "]";
+        }
+    }
+
+    private static final ExecutorService VIRTUAL_THREADS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("idk-io-", 0).factory());
+
+    private static final Map<Subsystem, Bulkhead> BULKHEADS = new EnumMap<>(Subsystem.class);
+
+    static {
+        BULKHEADS.put(Subsystem.DATABASE, new Bulkhead(Subsystem.DATABASE,
+                AppConfig.getInt("executor.database.maxConcurrency", AppConfig.getInt("db.pool.maxTotal", 10))));
+        BULKHEADS.put(Subsystem.LLM, new Bulkhead(Subsystem.LLM,
+                AppConfig.getInt("executor.llm.maxConcurrency", 4)));
+        BULKHEADS.put(Subsystem.IMAGES, new Bulkhead(Subsystem.IMAGES,
+                AppConfig.getInt("executor.images.maxConcurrency", 4)));
+    }
+
+    private AppExecutors() {}
+
+    // Executor for JDBC work
+    public static Executor db() {
+        return BULKHEADS.get(Subsystem.DATABASE);
+    }
+
+    // Executor for LLM (HTTP) calls
+    public static Executor llm() {
+        return BULKHEADS.get(Subsystem.LLM);
+    }
+
+    // Executor for image loading and decoding
+    public static Executor images() {
+        return BULKHEADS.get(Subsystem.IMAGES);
+    }
+
+    // Executor for short, non-blocking callbacks and background tasks that must not take a bulkhead permit
+    public static Executor background() {
+        return VIRTUAL_THREADS;
+    }
+
+    // Get the counters for one subsystem
+    public static Stats stats(Subsystem subsystem) {
+        return BULKHEADS.get(subsystem).stats();
+    }
+
+    // Stop accepting work and wait briefly for running tasks to finish
+    public static void shutdown() {
+        BULKHEADS.values().forEach(b -> System.out.println("Executor stats: " + b.stats()));
+        VIRTUAL_THREADS.shutdown();
+        try {
+            if (!VIRTUAL_THREADS.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Executors did not finish in time; interrupting remaining tasks.");
+                VIRTUAL_THREADS.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            VIRTUAL_THREADS.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Caps concurrency for one subsystem. Tasks that can't get a permit wait
+     * on their (cheap) virtual thread and are counted as queued.
+     */
+    private static final class Bulkhead implements Executor {
+        private final Subsystem subsystem;
+        private final int limit;
+        private final Semaphore permits;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        Bulkhead(Subsystem subsystem, int limit) {
+            this.subsystem = subsystem;
+            this.limit = Math.max(1, limit);
+            this.permits = new Semaphore(this.limit, true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            queued.incrementAndGet();
+            try {
+                VIRTUAL_THREADS.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                queued.decrementAndGet();
+                failed.increment();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            try {
+                task.run();
+                completed.increment();
+            } catch (RuntimeException | Error e) {
+                failed.increment();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+                permits.release();
+            }
+        }
+
+        Stats stats() {
+            return new Stats(subsystem, limit, active.get(), queued.get(), completed.sum(), failed.sum());
+        }
+    }
+}
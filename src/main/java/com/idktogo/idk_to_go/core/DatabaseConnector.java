@@ -1,19 +1,168 @@
 package com.idktogo.idk_to_go.core;
 
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Owns the application's pooled MySQL DataSource.
+ * Every DAO borrows connections from here; closing a borrowed connection returns it to the pool.
+ * Pool settings are read from {@link AppConfig} under the "db." prefix.
+ */
 public final class DatabaseConnector {
 
-    private static final String URL = "jdbc:mysql://turntable.proxy.rlwy.net:36473/railway";
+    private static final String URL = "jdbc:mysql://turntable.proxy.rlwy.net:36473/railway?rewriteBatchedStatements=true&useServerPrepStmts=true";
     private static final String USER = "root";
     private static final String PASSWORD = "KpFTOLyHJewyyzItnculqsYCYuIGVAlJ";
 
+    // Read without locking on every borrow; created and closed under DatabaseConnector.class
+    private static volatile BasicDataSource dataSource;
+
     private DatabaseConnector() {}
 
-    // Establishes a new database connection
+    /**
+     * Snapshot of the pool's current state.
+     */
+    public record PoolStats(int active, int idle, int maxTotal, int minIdle, int maxIdle) {
+        @Override
+        public String toString() {
+            return "active=" + active + ", idle=" + idle + ", maxTotal=" + maxTotal
+                    + ", minIdle=" + minIdle + ", maxIdle=" + maxIdle;
+        }
+    }
+
+    // Borrows a connection from the pool
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return dataSource().getConnection();
+    }
+
+    /**
+     * Opens the pool's minimum idle connections in parallel off the calling thread, so the
+     * first DAO calls don't pay for the TCP/TLS handshake. Each connection goes straight back to the pool.
+     * @return The pool statistics once the connections are open.
+     */
+    public static CompletableFuture<PoolStats> warmUp() {
+        int connections = Math.max(1, AppConfig.getInt("db.pool.minIdle", 2));
+        List<CompletableFuture<Connection>> opened = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            opened.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getConnection();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to warm up connection pool: " + e.getMessage(), e);
+                }
+            }, AppExecutors.db()));
+        }
+
+        // Hold every connection until all are open, so the pool can't hand the same one out twice
+        return CompletableFuture.allOf(opened.toArray(CompletableFuture[]::new))
+                .whenComplete((v, ex) -> opened.forEach(f -> {
+                    if (f.isDone() && !f.isCompletedExceptionally()) closeQuietly(f.join());
+                }))
+                .thenApply(v -> getPoolStats());
+    }
+
+    // Gets the shared pooled DataSource, creating it on first use
+    public static DataSource getDataSource() {
+        return dataSource();
+    }
+
+    // Gets the current pool statistics
+    public static PoolStats getPoolStats() {
+        BasicDataSource ds = dataSource;
+        if (ds == null) return new PoolStats(0, 0, 0, 0, 0);
+        return new PoolStats(
+                ds.getNumActive(),
+                ds.getNumIdle(),
+                ds.getMaxTotal(),
+                ds.getMinIdle(),
+                ds.getMaxIdle()
+        );
+    }
+
+    // Whether pooled connections keep their prepared statements open for reuse
+    public static boolean isStatementCacheEnabled() {
+        return AppConfig.getBoolean("db.pool.statementCache", true);
+    }
+
+    // Closes the pool and all idle connections; the next getConnection() builds a fresh pool
+    public static synchronized void shutdown() {
+        if (dataSource == null) return;
+        try {
+            System.out.println("Closing connection pool (" + getPoolStats() + ")");
+            dataSource.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing connection pool: " + e.getMessage());
+        } finally {
+            dataSource = null;
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error returning connection to pool: " + e.getMessage());
+        }
+    }
+
+    private static BasicDataSource dataSource() {
+        BasicDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConnector.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = createDataSource();
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    private static BasicDataSource createDataSource() {
+        BasicDataSource ds = new BasicDataSource();
+        ds.setUrl(AppConfig.getString("db.url", URL));
+        ds.setUsername(AppConfig.getString("db.user", USER));
+        ds.setPassword(AppConfig.getString("db.password", PASSWORD));
+
+        // Sizing
+        ds.setInitialSize(AppConfig.getInt("db.pool.initialSize", 0));
+        ds.setMinIdle(AppConfig.getInt("db.pool.minIdle", 2));
+        ds.setMaxIdle(AppConfig.getInt("db.pool.maxIdle", 8));
+        ds.setMaxTotal(AppConfig.getInt("db.pool.maxTotal", 10));
+        ds.setMaxWait(Duration.ofMillis(AppConfig.getLong("db.pool.maxWaitMillis", 10_000)));
+
+        // Validation: a driver isValid() check on borrow and while idle
+        ds.setTestOnBorrow(true);
+        ds.setTestWhileIdle(true);
+        ds.setValidationQueryTimeout(Duration.ofSeconds(AppConfig.getInt("db.pool.validationTimeoutSeconds", 5)));
+        ds.setDurationBetweenEvictionRuns(Duration.ofMillis(AppConfig.getLong("db.pool.evictionIntervalMillis", 60_000)));
+        ds.setMinEvictableIdle(Duration.ofMillis(AppConfig.getLong("db.pool.minEvictableIdleMillis", 300_000)));
+
+        // Recycle connections before the server or a proxy drops them
+        ds.setMaxConn(Duration.ofMillis(AppConfig.getLong("db.pool.maxLifetimeMillis", 1_800_000)));
+
+        // Keep prepared statements open per physical connection so DAO calls reuse them
+        // (StatementRegistry needs the underlying connection to tell new prepares from reuse)
+        ds.setPoolPreparedStatements(isStatementCacheEnabled());
+        ds.setMaxOpenPreparedStatements(AppConfig.getInt("db.pool.maxOpenPreparedStatements", 100));
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+
+        // Leak detection: reclaim and log connections that are held too long. This includes streamed
+        // queries (RowStreams), which must finish within the timeout or lose their connection mid-stream
+        boolean leakDetection = AppConfig.getBoolean("db.pool.leakDetection", true);
+        ds.setRemoveAbandonedOnBorrow(leakDetection);
+        ds.setRemoveAbandonedOnMaintenance(leakDetection);
+        ds.setLogAbandoned(leakDetection);
+        ds.setRemoveAbandonedTimeout(Duration.ofSeconds(AppConfig.getInt("db.pool.leakTimeoutSeconds", 60)));
+
+        return ds;
     }
 }
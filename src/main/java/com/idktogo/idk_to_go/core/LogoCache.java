@@ -0,0 +1,155 @@
+package com.idktogo.idk_to_go.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shared cache of decoded restaurant logos, keyed by classpath and display size.
+ * Logos are decoded on {@link AppExecutors#images()} at the size they are shown at, so a
+ * 32px row icon never holds a full-size bitmap. Concurrent requests for the same logo and
+ * size share one decode. The cache is bounded by an estimate of decoded pixel memory
+ * ("logos.cache.maxBytes") and its values are soft, so the GC can reclaim them under pressure.
+ */
+public final class LogoCache {
+
+    // Edge length of the logo icons shown in restaurant list rows
+    public static final double ROW_ICON_SIZE = 32;
+
+    // Marks which logo an ImageView is currently waiting for (views are reused by lists)
+    private static final String PENDING_KEY = LogoCache.class.getName() + ".pending";
+
+    // Decoded ARGB pixels; unknown heights are estimated as square
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static final Cache<String, CompletableFuture<Image>> IMAGES = CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(1, AppConfig.getLong("logos.cache.maxBytes", 16L * 1024 * 1024)))
+            .weigher((String key, CompletableFuture<Image> image) -> weigh(key))
+            .softValues()
+            .recordStats()
+            .build();
+
+    private LogoCache() {}
+
+    /**
+     * Cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, long size) {
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size;
+        }
+    }
+
+    /**
+     * Gets a logo decoded to fit the given size (0 keeps the original size for that side).
+     * @param logoPath Classpath of the image, with or without a leading slash.
+     * @return The decoded image; fails if the logo is missing or can't be decoded.
+     */
+    public static CompletableFuture<Image> load(String logoPath, double width, double height) {
+        if (logoPath == null || logoPath.isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("No logo"));
+        }
+
+        String path = logoPath.startsWith("/") ? logoPath : "/" + logoPath;
+        int w = (int) Math.ceil(Math.max(0, width));
+        int h = (int) Math.ceil(Math.max(0, height));
+        String key = path + "@" + w + "x" + h;
+
+        try {
+            CompletableFuture<Image> future = IMAGES.get(key, () -> decode(path, w, h));
+            future.whenComplete((image, ex) -> {
+                if (ex != null) IMAGES.asMap().remove(key, future);
+            });
+            return future;
+        } catch (ExecutionException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    // Start decoding a logo ahead of time so a later load() finds it ready
+    public static void prefetch(String logoPath, double width, double height) {
+        load(logoPath, width, height).exceptionally(ex -> null);
+    }
+
+    /**
+     * Shows a logo in an ImageView once it is decoded, at the view's fit size.
+     * If the view is given another logo before this one arrives, the older one is dropped.
+     * Must be called on the JavaFX thread.
+     */
+    public static void into(ImageView view, String logoPath) {
+        view.getProperties().put(PENDING_KEY, Objects.requireNonNullElse(logoPath, ""));
+        if (logoPath == null || logoPath.isBlank()) {
+            view.setImage(null);
+            return;
+        }
+
+        CompletableFuture<Image> future = load(logoPath, view.getFitWidth(), view.getFitHeight());
+        Image ready = future.getNow(null);
+        if (ready != null) {
+            view.setImage(ready);
+            return;
+        }
+
+        view.setImage(null);
+        future.whenComplete((image, ex) -> Platform.runLater(() -> {
+            if (!logoPath.equals(view.getProperties().get(PENDING_KEY))) return;
+            if (ex != null) {
+                System.err.println("Error loading logo " + logoPath + ": " + ex.getMessage());
+                return;
+            }
+            view.setImage(image);
+        }));
+    }
+
+    // Create a list-row icon showing the logo once it is decoded
+    public static ImageView icon(String logoPath) {
+        ImageView view = new ImageView();
+        view.setFitWidth(ROW_ICON_SIZE);
+        view.setFitHeight(ROW_ICON_SIZE);
+        view.setPreserveRatio(true);
+        into(view, logoPath);
+        return view;
+    }
+
+    // Get the cache counters
+    public static Stats stats() {
+        CacheStats s = IMAGES.stats();
+        return new Stats(s.hitCount(), s.missCount(), s.evictionCount(), IMAGES.size());
+    }
+
+    private static CompletableFuture<Image> decode(String path, int width, int height) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream stream = LogoCache.class.getResourceAsStream(path)) {
+                if (stream == null) throw new IllegalArgumentException("Logo not found on classpath: " + path);
+
+                Image image = new Image(stream, width, height, true, true);
+                if (image.isError()) {
+                    throw new IllegalStateException("Failed to decode logo " + path + ": " + image.getException());
+                }
+                return image;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read logo " + path + ": " + e.getMessage(), e);
+            }
+        }, AppExecutors.images());
+    }
+
+    private static int weigh(String key) {
+        String size = key.substring(key.lastIndexOf('@') + 1);
+        int w = Integer.parseInt(size.substring(0, size.indexOf('x')));
+        int h = Integer.parseInt(size.substring(size.indexOf('x') + 1));
+        if (w == 0 && h == 0) w = h = 256;
+        else if (w == 0) w = h;
+        else if (h == 0) h = w;
+        return (int) Math.min(Integer.MAX_VALUE, (long) w * h * BYTES_PER_PIXEL);
+    }
+}
@@ -1,22 +1,55 @@
 package com.idktogo.idk_to_go.core;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * Manages JavaFX scene navigation using a single primary stage.
- * Applies themes and injects the stage into controllers.
+ * Applies themes and injects the stage into controllers. Scenes whose controller is
+ * {@link Refreshable} are kept in an LRU of "navigation.cacheSize" entries and reused.
  */
 public final class Navigation {
 
     // The main application window
     private static Stage appStage;
 
+    // A parsed FXML file and its controller
+    private record View(Parent root, Object controller) {}
+
+    // A kept scene and the theme its stylesheets were last set for
+    private static final class CachedScene {
+        final Scene scene;
+        final Object controller;
+        ThemeManager.Theme theme;
+
+        CachedScene(Scene scene, Object controller) {
+            this.scene = scene;
+            this.controller = controller;
+        }
+    }
+
+    // Scenes of Refreshable controllers by FXML path, least recently shown evicted first (JavaFX thread only)
+    private static final Map<String, CachedScene> SCENES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScene> eldest) {
+            return size() > cacheSize();
+        }
+    };
+
+    // Background parses started by preload()
+    private static final Map<String, CompletableFuture<View>> PRELOADS = new ConcurrentHashMap<>();
+
     private Navigation() {}
 
     /**
@@ -48,6 +81,8 @@ public final class Navigation {
 
     /**
      * Loads an FXML scene with an optional controller configuration.
+     * A kept scene for the path (see {@link Refreshable}) is shown again instead of re-parsing,
+     * and a finished preload is used instead of parsing on the JavaFX thread.
      * @param absoluteFxmlPath Classpath to the FXML file.
      * @param controllerConfigurator Optional function to configure the controller.
      */
@@ -58,30 +93,99 @@ public final class Navigation {
             throw new IllegalStateException("Stage not set. Call Navigation.setStage(stage) before navigating.");
         }
 
-        try {
-            FXMLLoader loader = new FXMLLoader(Navigation.class.getResource(absoluteFxmlPath));
-            if (loader.getLocation() == null) {
-                throw new IllegalArgumentException("Invalid FXML path: " + absoluteFxmlPath);
-            }
+        CachedScene cached = SCENES.get(absoluteFxmlPath);
+        // A view parsed just now has only run initialize(), so onShow() is for kept scenes and for
+        // preloaded ones, whose initialize() may have read the catalog long before this navigation
+        boolean refresh = cached != null;
+        if (cached == null) {
+            View view = takePreloaded(absoluteFxmlPath);
+            if (view != null) refresh = true;
+            else view = parse(absoluteFxmlPath);
+
+            cached = new CachedScene(new Scene(view.root()), view.controller());
+            if (view.controller() instanceof Refreshable && cacheSize() > 0) SCENES.put(absoluteFxmlPath, cached);
+        }
+
+        if (cached.theme != ThemeManager.getActiveTheme()) {
+            ThemeManager.applyTheme(cached.scene);
+            cached.theme = ThemeManager.getActiveTheme();
+        }
+        appStage.setScene(cached.scene);
 
-            Scene scene = new Scene(loader.load());
-            ThemeManager.applyTheme(scene);
-            appStage.setScene(scene);
+        Object controller = cached.controller;
+        injectStageIfPresent(controller);
 
-            Object controller = loader.getController();
-            injectStageIfPresent(controller);
+        if (controllerConfigurator != null) {
+            controllerConfigurator.accept(controller);
+        }
+        if (refresh && controller instanceof Refreshable refreshable) {
+            refreshable.onShow();
+        }
 
-            if (controllerConfigurator != null) {
-                controllerConfigurator.accept(controller);
-            }
+        appStage.show();
+    }
 
-            appStage.show();
+    /**
+     * Parses FXML files on background threads so a later {@link #load} can skip the parse.
+     * Only the node graph is built ahead of time; the Scene is still created on the JavaFX thread.
+     * A preloaded {@link Refreshable} also gets onShow() when it is first shown, to catch up on changes.
+     * Disabled when "navigation.preload" is false. May be called from any thread (a preloaded
+     * controller's initialize() runs in the background); the kept scenes are checked on the JavaFX thread.
+     * @param absoluteFxmlPaths Classpaths of screens the user is likely to open next.
+     */
+    public static void preload(String... absoluteFxmlPaths) {
+        if (!AppConfig.getBoolean("navigation.preload", true)) return;
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> preload(absoluteFxmlPaths));
+            return;
+        }
+
+        for (String path : absoluteFxmlPaths) {
+            if (SCENES.containsKey(path)) continue;
+            PRELOADS.computeIfAbsent(path, p -> {
+                CompletableFuture<View> future = CompletableFuture.supplyAsync(() -> parse(p), AppExecutors.background());
+                future.whenComplete((view, e) -> {
+                    if (e == null) return;
+                    System.err.println("Failed to preload " + p + ": " + (e.getCause() != null ? e.getCause() : e).getMessage());
+                    PRELOADS.remove(p, future);
+                });
+                return future;
+            });
+        }
+    }
+
+    /**
+     * Drops every kept and preloaded scene (e.g. when the logged-in user changes).
+     */
+    public static void clearCache() {
+        SCENES.clear();
+        PRELOADS.clear();
+    }
+
+    // Take a finished preload; one still parsing is left alone rather than waited for
+    private static View takePreloaded(String path) {
+        CompletableFuture<View> future = PRELOADS.remove(path);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
+    }
 
+    private static View parse(String absoluteFxmlPath) {
+        try {
+            FXMLLoader loader = new FXMLLoader(Navigation.class.getResource(absoluteFxmlPath));
+            if (loader.getLocation() == null) {
+                throw new IllegalArgumentException("Invalid FXML path: " + absoluteFxmlPath);
+            }
+            Parent root = loader.load();
+            return new View(root, loader.getController());
         } catch (IOException e) {
             throw new RuntimeException("Failed to load FXML: " + absoluteFxmlPath, e);
         }
     }
 
+    private static int cacheSize() {
+        return Math.max(0, AppConfig.getInt("navigation.cacheSize", 6));
+    }
+
     /**
      * Injects the stage into controllers that have a `setStage(Stage)` method.
      */
@@ -0,0 +1,14 @@
+package com.idktogo.idk_to_go.core;
+
+/**
+ * Implemented by controllers whose scene {@link Navigation} may keep and show again.
+ * The FXML is loaded (and initialize() run) once; onShow() is called every time a kept
+ * scene is shown again, and should reload whatever may have changed since it was last visible.
+ * A scene parsed ahead of time by {@link Navigation#preload} also gets onShow() on its first showing.
+ * Controllers that don't implement it get a fresh scene on every navigation.
+ */
+public interface Refreshable {
+
+    // Called on the JavaFX thread each time a kept or preloaded scene is shown
+    void onShow();
+}
@@ -1,6 +1,6 @@
 package com.idktogo.idk_to_go.core;
 
-import com.idktogo.idk_to_go.data.AppStorage;
+import com.idktogo.idk_to_go.data.PreferenceStore;
 
 public final class SessionManager {
     private SessionManager() {}
@@ -10,29 +10,28 @@ public final class SessionManager {
 
     // Log in a user
     public static void login(int userId, String username) {
-        AppStorage.save(KEY_ID, String.valueOf(userId));
-        AppStorage.save(KEY_NAME, username == null ? "" : username);
+        PreferenceStore.put(KEY_ID, String.valueOf(userId));
+        PreferenceStore.put(KEY_NAME, username == null ? "" : username);
     }
 
     // Log out the current user
     public static void logout() {
-        AppStorage.remove(KEY_ID);
-        AppStorage.remove(KEY_NAME);
+        PreferenceStore.remove(KEY_ID);
+        PreferenceStore.remove(KEY_NAME);
     }
 
     // Check if a user is logged in
     public static boolean isLoggedIn() {
-        return AppStorage.load(KEY_ID) != null;
+        return PreferenceStore.getString(KEY_ID) != null;
     }
 
     // Get the logged-in user's ID
     public static Integer getUserId() {
-        String s = AppStorage.load(KEY_ID);
-        return (s == null) ? null : Integer.parseInt(s);
+        return PreferenceStore.getInteger(KEY_ID);
     }
 
     // Get the logged-in user's username
     public static String getUsername() {
-        return AppStorage.load(KEY_NAME);
+        return PreferenceStore.getString(KEY_NAME);
     }
 }
@@ -0,0 +1,100 @@
+package com.idktogo.idk_to_go.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs background startup work as named phases once the first scene is showing.
+ * Each phase starts as soon as the phases it depends on have finished, so independent
+ * phases run in parallel. A failed phase is logged and does not stop its dependents,
+ * which usually degrade on their own (e.g. by reading through the caches).
+ * Every phase's start offset and duration are logged, followed by a summary.
+ */
+public final class StartupPipeline {
+
+    /**
+     * Timing of one phase, relative to the start of the pipeline.
+     */
+    public record PhaseTiming(String name, long startedAtMillis, long durationMillis, boolean succeeded) {
+        @Override
+        public String toString() {
+            return name + " +" + startedAtMillis + "ms (" + durationMillis + "ms" + (succeeded ? "" : ", failed") + ")";
+        }
+    }
+
+    private record Phase(String name, Supplier<? extends CompletableFuture<?>> task, List<String> dependsOn) {}
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    /**
+     * Adds a phase.
+     * @param name Unique phase name used in logs and by dependents.
+     * @param task Starts the phase's work and returns a future that completes when it is done.
+     * @param dependsOn Names of phases (added earlier) that must finish first.
+     * @return This pipeline, for chaining.
+     */
+    public StartupPipeline phase(String name, Supplier<? extends CompletableFuture<?>> task, String... dependsOn) {
+        if (phases.containsKey(name)) throw new IllegalArgumentException("Duplicate startup phase: " + name);
+        for (String dependency : dependsOn) {
+            if (!phases.containsKey(dependency)) {
+                throw new IllegalArgumentException("Startup phase '" + name + "' depends on unknown phase '" + dependency + "'");
+            }
+        }
+        phases.put(name, new Phase(name, task, List.of(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Starts every phase and returns immediately.
+     * @return Timings of all phases in the order they were added, once the last one has finished.
+     */
+    public CompletableFuture<List<PhaseTiming>> start() {
+        long pipelineStart = System.nanoTime();
+        Map<String, CompletableFuture<PhaseTiming>> running = new LinkedHashMap<>();
+
+        for (Phase phase : phases.values()) {
+            CompletableFuture<?>[] dependencies = phase.dependsOn().stream().map(running::get).toArray(CompletableFuture[]::new);
+            running.put(phase.name(), CompletableFuture.allOf(dependencies)
+                    .thenCompose(ignored -> runPhase(phase, pipelineStart)));
+        }
+
+        List<CompletableFuture<PhaseTiming>> all = new ArrayList<>(running.values());
+        return CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<PhaseTiming> timings = all.stream().map(CompletableFuture::join).toList();
+            System.out.println("Startup pipeline finished in " + elapsedMillis(pipelineStart) + "ms: " + timings);
+            return timings;
+        });
+    }
+
+    private static CompletableFuture<PhaseTiming> runPhase(Phase phase, long pipelineStart) {
+        long phaseStart = System.nanoTime();
+        long startedAt = elapsedMillis(pipelineStart);
+
+        CompletableFuture<?> work;
+        try {
+            work = phase.task().get();
+        } catch (RuntimeException e) {
+            work = CompletableFuture.failedFuture(e);
+        }
+
+        return work.handle((result, ex) -> {
+            PhaseTiming timing = new PhaseTiming(phase.name(), startedAt, elapsedMillis(phaseStart), ex == null);
+            if (ex == null) {
+                System.out.println("Startup phase '" + phase.name() + "' finished in " + timing.durationMillis() + "ms");
+            } else {
+                System.err.println("Startup phase '" + phase.name() + "' failed after " + timing.durationMillis()
+                        + "ms: " + ex.getMessage());
+            }
+            return timing;
+        });
+    }
+
+    private static long elapsedMillis(long since) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+}
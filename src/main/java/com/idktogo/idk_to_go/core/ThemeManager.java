@@ -1,6 +1,6 @@
 package com.idktogo.idk_to_go.core;
 
-import com.idktogo.idk_to_go.data.AppStorage;
+import com.idktogo.idk_to_go.data.PreferenceStore;
 import javafx.scene.Scene;
 
 import java.net.URL;
@@ -20,14 +20,12 @@ public final class ThemeManager {
 
     // Get the currently active theme
     public static Theme getActiveTheme() {
-        String saved = AppStorage.load(KEY);
-        if ("DARK".equalsIgnoreCase(saved)) return Theme.DARK;
-        return Theme.LIGHT;
+        return PreferenceStore.getEnum(KEY, Theme.LIGHT);
     }
 
     // Set the active theme
     public static void setActiveTheme(Theme theme) {
-        AppStorage.save(KEY, theme.name());
+        PreferenceStore.put(KEY, theme.name());
     }
 
     // Toggle between light and dark themes
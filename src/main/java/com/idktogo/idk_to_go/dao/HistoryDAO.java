@@ -1,11 +1,16 @@
 package com.idktogo.idk_to_go.dao;
 
+import com.idktogo.idk_to_go.core.AppExecutors;
 import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.model.HistoryEntry;
+import com.idktogo.idk_to_go.model.Page;
 import com.idktogo.idk_to_go.model.UserHistory;
 
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 public final class HistoryDAO {
 
@@ -14,14 +19,8 @@ public final class HistoryDAO {
     // Upsert operations
     public static CompletableFuture<Void> upsertInteraction(int userId, int restaurantId, Integer likedValue) {
         return CompletableFuture.runAsync(() -> {
-            String sql = """
-                INSERT INTO user_history (user_id, restaurant_id, liked)
-                VALUES (?, ?, ?)
-                ON DUPLICATE KEY UPDATE liked = VALUES(liked), ts = CURRENT_TIMESTAMP
-            """;
-
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_UPSERT)) {
 
                 ps.setInt(1, userId);
                 ps.setInt(2, restaurantId);
@@ -34,15 +33,14 @@ public final class HistoryDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to upsert user interaction: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Read operations
     public static CompletableFuture<Optional<Integer>> getInteractionType(int userId, int restaurantId) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "SELECT liked FROM user_history WHERE user_id = ? AND restaurant_id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_REACTION)) {
 
                 ps.setInt(1, userId);
                 ps.setInt(2, restaurantId);
@@ -57,16 +55,15 @@ public final class HistoryDAO {
                 throw new RuntimeException("Failed to fetch interaction type: " + e);
             }
             return Optional.empty();
-        });
+        }, AppExecutors.db());
     }
 
     public static CompletableFuture<List<UserHistory>> listByUser(int userId) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "SELECT * FROM user_history WHERE user_id = ? ORDER BY ts DESC";
             List<UserHistory> list = new ArrayList<>();
 
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_BY_USER)) {
 
                 ps.setInt(1, userId);
                 try (ResultSet rs = ps.executeQuery()) {
@@ -77,15 +74,73 @@ public final class HistoryDAO {
                 throw new RuntimeException("Failed to list user history: " + e.getMessage(), e);
             }
             return list;
-        });
+        }, AppExecutors.db());
+    }
+
+    // List a user's history newest first using keyset pagination on (ts, id);
+    // pass the last entry of the previous page, or null for the first page
+    public static CompletableFuture<Page<UserHistory>> listByUserPage(int userId, UserHistory after, int limit) {
+        int size = RowStreams.pageSize(limit);
+        Sql sql = after == null ? Sql.HISTORY_PAGE_FIRST : Sql.HISTORY_PAGE_AFTER;
+
+        return RowStreams.page(sql, size, ps -> {
+            int i = 1;
+            ps.setInt(i++, userId);
+            if (after != null) {
+                ps.setTimestamp(i++, Timestamp.valueOf(after.timestamp()));
+                ps.setInt(i++, after.id());
+            }
+            ps.setInt(i, size + 1);
+        }, HistoryDAO::mapRow, "user history");
+    }
+
+    // Stream a user's history (newest first) to the consumer without materializing the list
+    public static CompletableFuture<Long> streamByUser(int userId, Consumer<? super UserHistory> consumer) {
+        return RowStreams.forEach(Sql.HISTORY_STREAM_BY_USER, ps -> ps.setInt(1, userId), HistoryDAO::mapRow, consumer, "user history");
+    }
+
+    // Publish a user's history (newest first) with subscriber-driven backpressure
+    public static Flow.Publisher<UserHistory> publishByUser(int userId) {
+        return RowStreams.publisher(Sql.HISTORY_STREAM_BY_USER, ps -> ps.setInt(1, userId), HistoryDAO::mapRow, "user history");
+    }
+
+    // List a user's history joined with each restaurant, newest first, in one query
+    public static CompletableFuture<List<HistoryEntry>> listByUserWithRestaurants(int userId) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<HistoryEntry> list = new ArrayList<>();
+
+            try (Connection conn = DatabaseConnector.getConnection();
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_WITH_RESTAURANTS)) {
+
+                ps.setInt(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Integer liked = rs.getInt("liked");
+                        if (rs.wasNull()) liked = null;
+
+                        UserHistory history = new UserHistory(
+                                rs.getInt("history_id"),
+                                rs.getInt("user_id"),
+                                rs.getInt("restaurant_id"),
+                                liked,
+                                rs.getTimestamp("ts").toLocalDateTime()
+                        );
+                        list.add(new HistoryEntry(history, RestaurantDAO.mapRow(rs)));
+                    }
+                }
+
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to list user history with restaurants: " + e.getMessage(), e);
+            }
+            return list;
+        }, AppExecutors.db());
     }
 
     // Delete operations
     public static CompletableFuture<Boolean> deleteInteraction(int userId, int restaurantId) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "DELETE FROM user_history WHERE user_id = ? AND restaurant_id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_DELETE)) {
 
                 ps.setInt(1, userId);
                 ps.setInt(2, restaurantId);
@@ -94,14 +149,13 @@ public final class HistoryDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to delete user interaction: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     public static CompletableFuture<Integer> deleteAllForUser(int userId) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "DELETE FROM user_history WHERE user_id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_DELETE_FOR_USER)) {
 
                 ps.setInt(1, userId);
                 return ps.executeUpdate();
@@ -109,19 +163,18 @@ public final class HistoryDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to delete all history for user: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     public static CompletableFuture<Void> deleteAllForAllUsers() {
         return CompletableFuture.runAsync(() -> {
-            String sql = "DELETE FROM user_history";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_DELETE_ALL)) {
                 ps.executeUpdate();
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to clear all user history: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Map ResultSet to UserHistory object
@@ -1,39 +1,86 @@
 package com.idktogo.idk_to_go.dao;
 
+import com.idktogo.idk_to_go.core.AppExecutors;
 import com.idktogo.idk_to_go.core.DatabaseConnector;
 import com.idktogo.idk_to_go.model.MenuItem;
 
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public final class MenuItemDAO {
 
     private MenuItemDAO() {}
 
-    // Create a new menu item
-    public static CompletableFuture<Void> create(MenuItem item) {
-        return CompletableFuture.runAsync(() -> {
-            String sql = "INSERT INTO menu_items (restaurant_id, item_name, price) VALUES (?, ?, ?)";
+    // Create a new menu item and return it with its generated ID
+    public static CompletableFuture<MenuItem> create(MenuItem item) {
+        return CompletableFuture.supplyAsync(() -> {
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepareWithKeys(conn, Sql.MENU_ITEM_INSERT)) {
                 ps.setInt(1, item.restaurantId());
                 ps.setString(2, item.itemName());
                 ps.setDouble(3, item.price());
                 ps.executeUpdate();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int id = keys.next() ? keys.getInt(1) : item.id();
+                    return new MenuItem(id, item.restaurantId(), item.itemName(), item.price());
+                }
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to add menu item: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
+    }
+
+    /**
+     * Inserts many menu items as one JDBC batch in one transaction.
+     * Either every row is inserted or none is.
+     * @param items Rows to insert (their IDs are ignored).
+     * @return The inserted items with their generated IDs, in input order.
+     */
+    public static CompletableFuture<List<MenuItem>> createAll(List<MenuItem> items) {
+        if (items.isEmpty()) return CompletableFuture.completedFuture(List.of());
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = StatementRegistry.prepareWithKeys(conn, Sql.MENU_ITEM_INSERT)) {
+                    for (MenuItem item : items) {
+                        ps.setInt(1, item.restaurantId());
+                        ps.setString(2, item.itemName());
+                        ps.setDouble(3, item.price());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    List<MenuItem> created = new ArrayList<>(items.size());
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (MenuItem item : items) {
+                            int id = keys.next() ? keys.getInt(1) : item.id();
+                            created.add(new MenuItem(id, item.restaurantId(), item.itemName(), item.price()));
+                        }
+                    }
+                    conn.commit();
+                    return created;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to add menu items: " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
     }
 
     // List all menu items for a given restaurant
     public static CompletableFuture<List<MenuItem>> listByRestaurant(int restaurantId) {
         return CompletableFuture.supplyAsync(() -> {
             List<MenuItem> list = new ArrayList<>();
-            String sql = "SELECT * FROM menu_items WHERE restaurant_id = ? ORDER BY item_name ASC";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.MENU_ITEMS_BY_RESTAURANT)) {
                 ps.setInt(1, restaurantId);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) list.add(mapRow(rs));
@@ -42,15 +89,19 @@ public final class MenuItemDAO {
                 throw new RuntimeException("Failed to list menu items: " + e.getMessage(), e);
             }
             return list;
-        });
+        }, AppExecutors.db());
+    }
+
+    // Stream every menu item (grouped by restaurant) to the consumer without materializing the list
+    public static CompletableFuture<Long> streamAll(Consumer<? super MenuItem> consumer) {
+        return RowStreams.forEach(Sql.MENU_ITEM_STREAM_ALL, ps -> {}, MenuItemDAO::mapRow, consumer, "menu items");
     }
 
     // Update an existing menu item
     public static CompletableFuture<Boolean> update(MenuItem item) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "UPDATE menu_items SET item_name = ?, price = ? WHERE id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.MENU_ITEM_UPDATE)) {
                 ps.setString(1, item.itemName());
                 ps.setDouble(2, item.price());
                 ps.setInt(3, item.id());
@@ -58,21 +109,20 @@ public final class MenuItemDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to update menu item: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Delete a menu item by ID
     public static CompletableFuture<Boolean> delete(int id) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "DELETE FROM menu_items WHERE id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.MENU_ITEM_DELETE)) {
                 ps.setInt(1, id);
                 return ps.executeUpdate() > 0;
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to delete menu item: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Map a ResultSet row to a MenuItem object
@@ -1,25 +1,33 @@
 package com.idktogo.idk_to_go.dao;
 
+import com.idktogo.idk_to_go.core.AppExecutors;
 import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.model.CounterDelta;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.ReactionResult;
 import com.idktogo.idk_to_go.model.Restaurant;
 
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 public final class RestaurantDAO {
 
+    private static final int MAX_IN_PARAMS = 500;
+
+    // SQLState MySQL reports for a deadlock victim (error 1213)
+    private static final String SQLSTATE_DEADLOCK = "40001";
+    private static final int MAX_DEADLOCK_RETRIES = 3;
+
     private RestaurantDAO() {}
 
     // Create a new restaurant
     public static CompletableFuture<Void> create(Restaurant r) {
         return CompletableFuture.runAsync(() -> {
-            String sql = """
-                INSERT INTO restaurants (name, category, location, likes, dislikes, netScore, weeklyLikes, logo)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-            """;
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_INSERT)) {
                 ps.setString(1, r.name());
                 ps.setString(2, r.category());
                 ps.setString(3, r.location());
@@ -32,83 +40,181 @@ public final class RestaurantDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to create restaurant: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
+    }
+
+    /**
+     * Inserts many restaurants as one JDBC batch in one transaction.
+     * Either every row is inserted or none is.
+     * @param restaurants Rows to insert (their IDs are ignored).
+     * @return The inserted restaurants with their generated IDs, in input order.
+     */
+    public static CompletableFuture<List<Restaurant>> createAll(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) return CompletableFuture.completedFuture(List.of());
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = StatementRegistry.prepareWithKeys(conn, Sql.RESTAURANT_INSERT)) {
+                    for (Restaurant r : restaurants) {
+                        ps.setString(1, r.name());
+                        ps.setString(2, r.category());
+                        ps.setString(3, r.location());
+                        ps.setInt(4, r.likes());
+                        ps.setInt(5, r.dislikes());
+                        ps.setInt(6, r.netScore());
+                        ps.setInt(7, r.weeklyLikes());
+                        ps.setString(8, r.logo());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    List<Restaurant> created = new ArrayList<>(restaurants.size());
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Restaurant r : restaurants) {
+                            int id = keys.next() ? keys.getInt(1) : r.id();
+                            created.add(new Restaurant(id, r.name(), r.category(), r.location(),
+                                    r.likes(), r.dislikes(), r.netScore(), r.weeklyLikes(), r.logo()));
+                        }
+                    }
+                    conn.commit();
+                    return created;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to create restaurants: " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
     }
 
     // Find a restaurant by ID
     public static CompletableFuture<Optional<Restaurant>> findById(int id) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "SELECT * FROM restaurants WHERE id = ?";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_BY_ID)) {
                 ps.setInt(1, id);
-                ResultSet rs = ps.executeQuery();
-                if (rs.next()) return Optional.of(mapRow(rs));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return Optional.of(mapRow(rs));
+                }
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to find restaurant: " + e.getMessage(), e);
             }
             return Optional.empty();
-        });
+        }, AppExecutors.db());
+    }
+
+    /**
+     * Finds many restaurants with a single WHERE id IN (...) query.
+     * Duplicate IDs are collapsed; IDs with no matching row are simply absent from the result.
+     * @param ids Restaurant IDs to look up.
+     * @return Restaurants keyed by ID.
+     */
+    public static CompletableFuture<Map<Integer, Restaurant>> findByIds(Collection<Integer> ids) {
+        List<Integer> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (unique.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+        return CompletableFuture.supplyAsync(() -> {
+            Map<Integer, Restaurant> found = new HashMap<>();
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                // Keep each statement's parameter list to a sane size
+                for (int from = 0; from < unique.size(); from += MAX_IN_PARAMS) {
+                    List<Integer> chunk = unique.subList(from, Math.min(from + MAX_IN_PARAMS, unique.size()));
+                    String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                    try (PreparedStatement ps = StatementRegistry.prepareAdHoc(conn,
+                            "SELECT * FROM restaurants WHERE id IN (" + placeholders + ")")) {
+                        for (int i = 0; i < chunk.size(); i++) ps.setInt(i + 1, chunk.get(i));
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                Restaurant r = mapRow(rs);
+                                found.put(r.id(), r);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to find restaurants: " + e.getMessage(), e);
+            }
+            return found;
+        }, AppExecutors.db());
     }
 
     // List all restaurants
     public static CompletableFuture<List<Restaurant>> listAll() {
-        return queryList("SELECT * FROM restaurants ORDER BY name ASC");
+        return queryList(Sql.RESTAURANT_LIST_ALL);
+    }
+
+    /**
+     * Lists restaurants by (name, id) using keyset pagination.
+     * @param after Last restaurant of the previous page, or null for the first page.
+     * @param limit Page size (clamped to 1..500).
+     */
+    public static CompletableFuture<Page<Restaurant>> listPage(Restaurant after, int limit) {
+        int size = RowStreams.pageSize(limit);
+        Sql sql = after == null ? Sql.RESTAURANT_PAGE_FIRST : Sql.RESTAURANT_PAGE_AFTER;
+
+        return RowStreams.page(sql, size, ps -> {
+            int i = 1;
+            if (after != null) {
+                ps.setString(i++, after.name());
+                ps.setInt(i++, after.id());
+            }
+            ps.setInt(i, size + 1);
+        }, RestaurantDAO::mapRow, "restaurants");
+    }
+
+    // Stream every restaurant (by name) to the consumer without materializing the list
+    public static CompletableFuture<Long> streamAll(Consumer<? super Restaurant> consumer) {
+        return RowStreams.forEach(Sql.RESTAURANT_STREAM_ALL, ps -> {}, RestaurantDAO::mapRow, consumer, "restaurants");
+    }
+
+    // Publish every restaurant (by name) with subscriber-driven backpressure
+    public static Flow.Publisher<Restaurant> publishAll() {
+        return RowStreams.publisher(Sql.RESTAURANT_STREAM_ALL, ps -> {}, RestaurantDAO::mapRow, "restaurants");
     }
 
     // Get top restaurants by weekly likes
     public static CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit) {
         int safeLimit = Math.max(1, Math.min(limit, 100));
-        String sql = """
-        SELECT id, name, category, location, likes, dislikes, netScore, weeklyLikes, logo
-        FROM restaurants
-        ORDER BY weeklyLikes DESC
-        LIMIT """ + " " + safeLimit;
 
         return CompletableFuture.supplyAsync(() -> {
             List<Restaurant> list = new ArrayList<>();
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql);
-                 ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_TOP_WEEKLY)) {
+                ps.setInt(1, safeLimit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) list.add(mapRow(rs));
+                }
             } catch (SQLException e) {
                 throw new RuntimeException("Query failed in topByWeeklyLikes: " + e.getMessage(), e);
             }
             return list;
-        });
+        }, AppExecutors.db());
     }
 
     // Get top restaurants by net score
     public static CompletableFuture<List<Restaurant>> topByNetScore() {
-        String sql = """
-        SELECT id, name, category, location, likes, dislikes, netScore, weeklyLikes, logo
-        FROM restaurants
-        ORDER BY netScore DESC
-        LIMIT 50
-    """;
-
         return CompletableFuture.supplyAsync(() -> {
             List<Restaurant> list = new ArrayList<>();
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql);
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_TOP_NET);
                  ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) list.add(mapRow(rs));
             } catch (SQLException e) {
                 throw new RuntimeException("Query failed in topByNetScore: " + e.getMessage(), e);
             }
             return list;
-        });
+        }, AppExecutors.db());
     }
 
     // Update an existing restaurant
     public static CompletableFuture<Boolean> update(Restaurant r) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = """
-                UPDATE restaurants
-                SET name=?, category=?, location=?, logo=? WHERE id=?
-            """;
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_UPDATE)) {
                 ps.setString(1, r.name());
                 ps.setString(2, r.category());
                 ps.setString(3, r.location());
@@ -118,59 +224,216 @@ public final class RestaurantDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to update restaurant: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Delete a restaurant by ID
     public static CompletableFuture<Void> delete(int id) {
         return CompletableFuture.runAsync(() -> {
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement("DELETE FROM restaurants WHERE id=?")) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_DELETE)) {
                 ps.setInt(1, id);
                 ps.executeUpdate();
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to delete restaurant: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
+    }
+
+    /**
+     * Records a user's reaction and applies the matching counter deltas in one transaction.
+     * The restaurant row and the user's history row are read and locked together, then the
+     * history upsert and a single combined counter UPDATE are issued on the same connection.
+     * @param reaction 1 = like, -1 = dislike, 0 = neutral.
+     * @return The restaurant with its updated counts, or empty if it does not exist.
+     */
+    public static CompletableFuture<Optional<Restaurant>> applyReaction(int userId, int restaurantId, int reaction) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    Restaurant current;
+                    int oldScore;
+                    try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_LOCK_WITH_REACTION)) {
+                        ps.setInt(1, userId);
+                        ps.setInt(2, restaurantId);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            if (!rs.next()) {
+                                conn.rollback();
+                                return Optional.<Restaurant>empty();
+                            }
+                            current = mapRow(rs);
+                            int liked = rs.getInt("liked");
+                            oldScore = rs.wasNull() ? 0 : Integer.signum(liked);
+                        }
+                    }
+
+                    int newScore = Integer.signum(reaction);
+                    if (oldScore == newScore) {
+                        conn.commit();
+                        return Optional.of(current);
+                    }
+
+                    try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_UPSERT)) {
+                        bindHistory(ps, userId, restaurantId, newScore);
+                        ps.executeUpdate();
+                    }
+
+                    CounterDelta delta = CounterDelta.forTransition(oldScore, newScore);
+
+                    try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_ADJUST_COUNTERS)) {
+                        bindDelta(ps, restaurantId, delta);
+                        ps.executeUpdate();
+                    }
+
+                    conn.commit();
+
+                    // The row is locked until commit, so the new counts follow directly from the deltas
+                    return Optional.of(delta.applyTo(current));
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to apply reaction: " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
     }
 
-    // Increment restaurant likes
-    public static void incrementLikes(int id) { adjustField(id, "likes", 1); }
-    // Decrement restaurant likes
-    public static void decrementLikes(int id) { adjustField(id, "likes", -1); }
-    // Increment restaurant dislikes
-    public static void incrementDislikes(int id) { adjustField(id, "dislikes", 1); }
-    // Decrement restaurant dislikes
-    public static void decrementDislikes(int id) { adjustField(id, "dislikes", -1); }
+    /**
+     * Records a user's reaction in user_history without touching the restaurant's counters.
+     * Only the user's own history row is locked; the caller is responsible for applying the
+     * returned delta (see {@link #applyCounterDeltas(Map)}). Two first reactions racing for the same
+     * missing row (a double-click) can deadlock on its gap lock; the loser is retried.
+     * @param reaction 1 = like, -1 = dislike, 0 = neutral.
+     * @return The restaurant as currently stored plus the counter delta, or empty if it does not exist.
+     */
+    public static CompletableFuture<Optional<ReactionResult>> recordReaction(int userId, int restaurantId, int reaction) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                for (int attempt = 1; ; attempt++) {
+                    try {
+                        return recordReactionOnce(conn, userId, restaurantId, reaction);
+                    } catch (SQLException e) {
+                        if (!SQLSTATE_DEADLOCK.equals(e.getSQLState()) || attempt >= MAX_DEADLOCK_RETRIES) throw e;
+                        System.err.println("Reaction deadlocked, retrying (attempt " + (attempt + 1) + ")");
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to record reaction: " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
+    }
 
-    // Adjust net score and weekly likes
-    public static void adjustNetAndWeekly(int id, int delta) {
-        executeRaw("UPDATE restaurants SET netScore = netScore + ?, weeklyLikes = weeklyLikes + ? WHERE id = ?", ps -> {
-            ps.setInt(1, delta);
-            ps.setInt(2, delta);
-            ps.setInt(3, id);
-        });
+    // One transaction of recordReaction; rolled back on any SQL error
+    private static Optional<ReactionResult> recordReactionOnce(Connection conn, int userId, int restaurantId, int reaction)
+            throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            Restaurant current = null;
+            try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_BY_ID)) {
+                ps.setInt(1, restaurantId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) current = mapRow(rs);
+                }
+            }
+            if (current == null) {
+                conn.rollback();
+                return Optional.empty();
+            }
+
+            int oldScore = 0;
+            try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_LOCK_REACTION)) {
+                ps.setInt(1, userId);
+                ps.setInt(2, restaurantId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        int liked = rs.getInt("liked");
+                        oldScore = rs.wasNull() ? 0 : Integer.signum(liked);
+                    }
+                }
+            }
+
+            int newScore = Integer.signum(reaction);
+            if (oldScore == newScore) {
+                conn.commit();
+                return Optional.of(new ReactionResult(current, CounterDelta.ZERO));
+            }
+
+            try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.HISTORY_UPSERT)) {
+                bindHistory(ps, userId, restaurantId, newScore);
+                ps.executeUpdate();
+            }
+
+            conn.commit();
+            return Optional.of(new ReactionResult(current, CounterDelta.forTransition(oldScore, newScore)));
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Applies accumulated counter deltas for many restaurants as one JDBC batch in one transaction.
+     * @param deltas Counter deltas keyed by restaurant ID.
+     */
+    public static CompletableFuture<Void> applyCounterDeltas(Map<Integer, CounterDelta> deltas) {
+        return CompletableFuture.runAsync(() -> {
+            if (deltas.isEmpty()) return;
+
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_ADJUST_COUNTERS)) {
+                    for (Map.Entry<Integer, CounterDelta> entry : deltas.entrySet()) {
+                        if (entry.getValue().isZero()) continue;
+                        bindDelta(ps, entry.getKey(), entry.getValue());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to apply counter deltas: " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
     }
 
     // Reset all weekly likes to zero
     public static CompletableFuture<Void> resetWeeklyLikes() {
         return CompletableFuture.runAsync(() -> {
-            String sql = "UPDATE restaurants SET weeklyLikes = 0";
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.RESTAURANT_RESET_WEEKLY)) {
                 ps.executeUpdate();
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to reset weekly likes: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
+    }
+
+    // Bind a user_history upsert (user, restaurant, liked or NULL for neutral)
+    private static void bindHistory(PreparedStatement ps, int userId, int restaurantId, int score) throws SQLException {
+        ps.setInt(1, userId);
+        ps.setInt(2, restaurantId);
+        if (score == 0) ps.setNull(3, Types.TINYINT);
+        else ps.setInt(3, score);
     }
 
-    // Adjust a specific field (likes/dislikes)
-    private static void adjustField(int id, String field, int delta) {
-        executeRaw("UPDATE restaurants SET " + field + " = GREATEST(" + field + " + ?, 0) WHERE id = ?", ps -> {
-            ps.setInt(1, delta);
-            ps.setInt(2, id);
-        });
+    // Bind a combined counter update for one restaurant
+    private static void bindDelta(PreparedStatement ps, int restaurantId, CounterDelta delta) throws SQLException {
+        ps.setInt(1, delta.likes());
+        ps.setInt(2, delta.dislikes());
+        ps.setInt(3, delta.netScore());
+        ps.setInt(4, delta.weeklyLikes());
+        ps.setInt(5, restaurantId);
     }
 
     // Map a ResultSet row to a Restaurant object
@@ -189,31 +452,17 @@ public final class RestaurantDAO {
     }
 
     // Execute a query that returns a list of restaurants
-    private static CompletableFuture<List<Restaurant>> queryList(String sql) {
+    private static CompletableFuture<List<Restaurant>> queryList(Sql sql) {
         return CompletableFuture.supplyAsync(() -> {
             List<Restaurant> list = new ArrayList<>();
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql);
+                 PreparedStatement ps = StatementRegistry.prepare(conn, sql);
                  ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) list.add(mapRow(rs));
             } catch (SQLException e) {
                 throw new RuntimeException("Query failed: " + e.getMessage(), e);
             }
             return list;
-        });
-    }
-
-    // Execute a raw SQL update statement
-    private static void executeRaw(String sql, ThrowingConsumer<PreparedStatement> binder) {
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            binder.accept(ps);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("SQL failed: " + e.getMessage(), e);
-        }
+        }, AppExecutors.db());
     }
-
-    @FunctionalInterface
-    private interface ThrowingConsumer<T> { void accept(T t) throws SQLException; }
 }
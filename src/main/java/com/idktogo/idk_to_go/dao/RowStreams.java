@@ -0,0 +1,160 @@
+package com.idktogo.idk_to_go.dao;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.model.Page;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Shared plumbing for keyset pages and streamed result sets.
+ * Streams use a forward-only, read-only statement with the MySQL streaming fetch size,
+ * so rows are handed over one at a time instead of being buffered by the driver.
+ */
+final class RowStreams {
+
+    // Tells Connector/J to stream rows rather than read the whole result into memory
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private RowStreams() {}
+
+    @FunctionalInterface
+    interface Binder { void bind(PreparedStatement ps) throws SQLException; }
+
+    @FunctionalInterface
+    interface RowMapper<T> { T map(ResultSet rs) throws SQLException; }
+
+    // Clamp a requested page size to something sane
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Run a query that selects pageSize + 1 rows and turn it into a page
+    static <T> CompletableFuture<Page<T>> page(
+            Sql sql, int pageSize, Binder binder, RowMapper<T> mapper, String what) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<T> items = new ArrayList<>(pageSize + 1);
+            try (Connection conn = DatabaseConnector.getConnection();
+                 PreparedStatement ps = StatementRegistry.prepare(conn, sql)) {
+                binder.bind(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) items.add(mapper.map(rs));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to page " + what + ": " + e.getMessage(), e);
+            }
+
+            boolean hasMore = items.size() > pageSize;
+            if (hasMore) items.remove(items.size() - 1);
+            return new Page<>(List.copyOf(items), hasMore);
+        }, AppExecutors.db());
+    }
+
+    // Stream every row to the consumer on a DB thread; completes with the row count
+    static <T> CompletableFuture<Long> forEach(Sql sql, Binder binder, RowMapper<T> mapper,
+                                              Consumer<? super T> consumer, String what) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return stream(sql, binder, mapper, row -> {
+                    consumer.accept(row);
+                    return true;
+                });
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to stream " + what + ": " + e.getMessage(), e);
+            }
+        }, AppExecutors.db());
+    }
+
+    // Cold publisher: every subscriber runs its own streaming query.
+    // Each row waits up to "db.stream.stallTimeoutMillis" for room in the subscriber's buffer, so
+    // the query only advances as fast as the subscriber requests rows. After a cancel the next row
+    // ends the loop and the statement is cancelled on the server (see stream()); a subscriber that
+    // stops requesting without cancelling gets a TimeoutException instead of pinning the
+    // connection and its DB permit.
+    // The pool's leak detection reclaims any connection held longer than "db.pool.leakTimeoutSeconds",
+    // streams included, so a stream has to finish within that time; the stall timeout is kept below it.
+    // Rows are delivered on AppExecutors.background(), not a DB permit: the query already
+    // holds one while it waits for the subscriber.
+    static <T> Flow.Publisher<T> publisher(Sql sql, Binder binder, RowMapper<T> mapper, String what) {
+        return subscriber -> {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>(AppExecutors.background(), Flow.defaultBufferSize());
+            publisher.subscribe(subscriber);
+            long stallMillis = stallTimeoutMillis();
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    AtomicBoolean stalled = new AtomicBoolean();
+                    stream(sql, binder, mapper, row -> {
+                        if (!publisher.hasSubscribers()) return false;
+                        // Dropped (negative) means the subscriber's buffer stayed full for the whole timeout
+                        if (publisher.offer(row, stallMillis, TimeUnit.MILLISECONDS, (s, r) -> false) < 0) {
+                            stalled.set(true);
+                            return false;
+                        }
+                        return true;
+                    });
+                    if (stalled.get()) {
+                        publisher.closeExceptionally(new TimeoutException("Stopped streaming " + what
+                                + ": subscriber requested no rows for " + stallMillis + " ms"));
+                    } else {
+                        publisher.close();
+                    }
+                } catch (SQLException e) {
+                    publisher.closeExceptionally(
+                            new RuntimeException("Failed to stream " + what + ": " + e.getMessage(), e));
+                } catch (RuntimeException e) {
+                    publisher.closeExceptionally(e);
+                }
+            }, AppExecutors.db());
+        };
+    }
+
+    // How long a row may wait for the subscriber, capped at half the pool's leak timeout when leak detection is on
+    private static long stallTimeoutMillis() {
+        long stallMillis = AppConfig.getLong("db.stream.stallTimeoutMillis", 10_000);
+        if (AppConfig.getBoolean("db.pool.leakDetection", true)) {
+            stallMillis = Math.min(stallMillis, AppConfig.getInt("db.pool.leakTimeoutSeconds", 60) * 1000L / 2);
+        }
+        return Math.max(1, stallMillis);
+    }
+
+    @FunctionalInterface
+    private interface RowSink<T> { boolean accept(T row) throws SQLException; }
+
+    private static <T> long stream(Sql sql, Binder binder, RowMapper<T> mapper, RowSink<T> sink) throws SQLException {
+        long count = 0;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement ps = StatementRegistry.prepareStreaming(conn, sql)) {
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            binder.bind(ps);
+            boolean stopped = false;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (!sink.accept(mapper.map(rs))) {
+                        stopped = true;
+                        // Closing a streaming result set reads every remaining row; stop the query on the server first
+                        ps.cancel();
+                        break;
+                    }
+                    count++;
+                }
+            } catch (SQLException e) {
+                // A cancelled query is reported as interrupted when the result set is closed
+                if (!stopped) throw e;
+            }
+        }
+        return count;
+    }
+}
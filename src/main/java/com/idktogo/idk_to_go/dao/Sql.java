@@ -0,0 +1,113 @@
+package com.idktogo.idk_to_go.dao;
+
+/**
+ * Every fixed SQL statement issued by the DAOs, defined once.
+ * Statements are prepared through {@link StatementRegistry}, which reuses them per pooled
+ * connection. Only statements whose text is built at runtime (IN lists of varying length,
+ * per-column counter updates) are prepared ad hoc.
+ */
+enum Sql {
+
+    // restaurants
+    RESTAURANT_INSERT("""
+        INSERT INTO restaurants (name, category, location, likes, dislikes, netScore, weeklyLikes, logo)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """),
+    RESTAURANT_BY_ID("SELECT * FROM restaurants WHERE id = ?"),
+    RESTAURANT_LIST_ALL("SELECT * FROM restaurants ORDER BY name ASC"),
+    RESTAURANT_PAGE_FIRST("SELECT * FROM restaurants ORDER BY name ASC, id ASC LIMIT ?"),
+    RESTAURANT_PAGE_AFTER("SELECT * FROM restaurants WHERE (name, id) > (?, ?) ORDER BY name ASC, id ASC LIMIT ?"),
+    RESTAURANT_STREAM_ALL("SELECT * FROM restaurants ORDER BY name ASC, id ASC"),
+    RESTAURANT_TOP_WEEKLY("""
+        SELECT id, name, category, location, likes, dislikes, netScore, weeklyLikes, logo
+        FROM restaurants
+        ORDER BY weeklyLikes DESC
+        LIMIT ?
+    """),
+    RESTAURANT_TOP_NET("""
+        SELECT id, name, category, location, likes, dislikes, netScore, weeklyLikes, logo
+        FROM restaurants
+        ORDER BY netScore DESC
+        LIMIT 50
+    """),
+    RESTAURANT_UPDATE("""
+        UPDATE restaurants
+        SET name=?, category=?, location=?, logo=? WHERE id=?
+    """),
+    RESTAURANT_DELETE("DELETE FROM restaurants WHERE id=?"),
+    RESTAURANT_LOCK_WITH_REACTION("""
+        SELECT r.*, h.liked
+        FROM restaurants r
+        LEFT JOIN user_history h ON h.restaurant_id = r.id AND h.user_id = ?
+        WHERE r.id = ?
+        FOR UPDATE
+    """),
+    RESTAURANT_ADJUST_COUNTERS("""
+        UPDATE restaurants
+        SET likes = GREATEST(likes + ?, 0),
+            dislikes = GREATEST(dislikes + ?, 0),
+            netScore = netScore + ?,
+            weeklyLikes = weeklyLikes + ?
+        WHERE id = ?
+    """),
+    RESTAURANT_RESET_WEEKLY("UPDATE restaurants SET weeklyLikes = 0"),
+
+    // user_history
+    HISTORY_UPSERT("""
+        INSERT INTO user_history (user_id, restaurant_id, liked)
+        VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE liked = VALUES(liked), ts = CURRENT_TIMESTAMP
+    """),
+    HISTORY_REACTION("SELECT liked FROM user_history WHERE user_id = ? AND restaurant_id = ?"),
+    HISTORY_LOCK_REACTION("SELECT liked FROM user_history WHERE user_id = ? AND restaurant_id = ? FOR UPDATE"),
+    HISTORY_BY_USER("SELECT * FROM user_history WHERE user_id = ? ORDER BY ts DESC"),
+    HISTORY_PAGE_FIRST("SELECT * FROM user_history WHERE user_id = ? ORDER BY ts DESC, id DESC LIMIT ?"),
+    HISTORY_PAGE_AFTER("SELECT * FROM user_history WHERE user_id = ? AND (ts, id) < (?, ?) ORDER BY ts DESC, id DESC LIMIT ?"),
+    HISTORY_STREAM_BY_USER("SELECT * FROM user_history WHERE user_id = ? ORDER BY ts DESC, id DESC"),
+    HISTORY_WITH_RESTAURANTS("""
+        SELECT h.id AS history_id, h.user_id, h.restaurant_id, h.liked, h.ts, r.*
+        FROM user_history h
+        JOIN restaurants r ON r.id = h.restaurant_id
+        WHERE h.user_id = ?
+        ORDER BY h.ts DESC
+    """),
+    HISTORY_DELETE("DELETE FROM user_history WHERE user_id = ? AND restaurant_id = ?"),
+    HISTORY_DELETE_FOR_USER("DELETE FROM user_history WHERE user_id = ?"),
+    HISTORY_DELETE_ALL("DELETE FROM user_history"),
+
+    // menu_items
+    MENU_ITEM_INSERT("INSERT INTO menu_items (restaurant_id, item_name, price) VALUES (?, ?, ?)"),
+    MENU_ITEMS_BY_RESTAURANT("SELECT * FROM menu_items WHERE restaurant_id = ? ORDER BY item_name ASC"),
+    MENU_ITEM_STREAM_ALL("SELECT * FROM menu_items ORDER BY restaurant_id ASC, id ASC"),
+    MENU_ITEM_UPDATE("UPDATE menu_items SET item_name = ?, price = ? WHERE id = ?"),
+    MENU_ITEM_DELETE("DELETE FROM menu_items WHERE id = ?"),
+
+    // users
+    USER_INSERT("""
+        INSERT INTO users (username, email, first_name, last_name, password, is_admin)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """),
+    USER_BY_ID("SELECT * FROM users WHERE id = ?"),
+    USER_BY_USERNAME("SELECT * FROM users WHERE username = ?"),
+    USER_BY_EMAIL("SELECT * FROM users WHERE email = ?"),
+    USER_BY_CREDENTIALS("SELECT * FROM users WHERE username = ? AND password = ?"),
+    USER_LIST_ALL("SELECT * FROM users ORDER BY id ASC"),
+    USER_PAGE_FIRST("SELECT * FROM users ORDER BY id ASC LIMIT ?"),
+    USER_PAGE_AFTER("SELECT * FROM users WHERE id > ? ORDER BY id ASC LIMIT ?"),
+    USER_UPDATE("""
+        UPDATE users
+        SET username = ?, email = ?, first_name = ?, last_name = ?, password = ?
+        WHERE id = ?
+    """),
+    USER_DELETE("DELETE FROM users WHERE id = ?");
+
+    private final String text;
+
+    Sql(String text) {
+        this.text = text;
+    }
+
+    String text() {
+        return text;
+    }
+}
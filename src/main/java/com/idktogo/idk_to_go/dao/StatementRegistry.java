@@ -0,0 +1,112 @@
+package com.idktogo.idk_to_go.dao;
+
+import com.idktogo.idk_to_go.core.DatabaseConnector;
+import org.apache.commons.dbcp2.DelegatingConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepares the statements defined in {@link Sql} so they are reused across DAO calls.
+ * The connection pool keeps each prepared statement open per physical connection
+ * ("db.pool.statementCache"), so closing one in a DAO only returns it to that connection's
+ * cache and the next borrower of the connection gets it back without a new server-side
+ * prepare. This class tracks which statements each physical connection has prepared to
+ * estimate prepares against executions. The estimate only sees the first prepare per connection:
+ * a statement the pool closes to stay under "db.pool.maxOpenPreparedStatements" and prepares again
+ * later is not counted, so the real prepare count can be higher.
+ */
+public final class StatementRegistry {
+
+    private enum Variant { PLAIN, GENERATED_KEYS, STREAMING }
+
+    private static final int VARIANTS = Variant.values().length;
+
+    // Statements already prepared on each physical connection (weak keys: closed connections drop out)
+    private static final Map<Connection, BitSet> PREPARED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder EXECUTIONS = new LongAdder();
+    private static final LongAdder ESTIMATED_PREPARES = new LongAdder();
+    private static final LongAdder AD_HOC = new LongAdder();
+
+    private StatementRegistry() {}
+
+    /**
+     * Statement use counters. Every registered statement use is one execution (a batch counts once);
+     * estimated prepares are the executions that first used the statement on their connection
+     * (a lower bound, see the class comment).
+     */
+    public record Stats(long executions, long estimatedPrepares, long adHoc) {
+        public double estimatedReuseRate() {
+            return executions == 0 ? 0.0 : 1.0 - (double) estimatedPrepares / executions;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("executions=%d, estimatedPrepares=%d, estimatedReuseRate=%.2f, adHoc=%d",
+                    executions, estimatedPrepares, estimatedReuseRate(), adHoc);
+        }
+    }
+
+    // Prepare a registered statement
+    static PreparedStatement prepare(Connection conn, Sql sql) throws SQLException {
+        record(conn, sql, Variant.PLAIN);
+        return conn.prepareStatement(sql.text());
+    }
+
+    // Prepare a registered INSERT that returns generated keys
+    static PreparedStatement prepareWithKeys(Connection conn, Sql sql) throws SQLException {
+        record(conn, sql, Variant.GENERATED_KEYS);
+        return conn.prepareStatement(sql.text(), Statement.RETURN_GENERATED_KEYS);
+    }
+
+    // Prepare a registered query for a forward-only, read-only streamed result
+    static PreparedStatement prepareStreaming(Connection conn, Sql sql) throws SQLException {
+        record(conn, sql, Variant.STREAMING);
+        return conn.prepareStatement(sql.text(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    // Prepare SQL built at runtime, through the pooled connection like every other statement
+    static PreparedStatement prepareAdHoc(Connection conn, String sql) throws SQLException {
+        AD_HOC.increment();
+        return conn.prepareStatement(sql);
+    }
+
+    // Get the statement counters
+    public static Stats stats() {
+        return new Stats(EXECUTIONS.sum(), ESTIMATED_PREPARES.sum(), AD_HOC.sum());
+    }
+
+    private static void record(Connection conn, Sql sql, Variant variant) {
+        EXECUTIONS.increment();
+        if (!DatabaseConnector.isStatementCacheEnabled()) {
+            ESTIMATED_PREPARES.increment();
+            return;
+        }
+
+        BitSet seen = PREPARED.computeIfAbsent(physical(conn), c -> new BitSet());
+        int bit = sql.ordinal() * VARIANTS + variant.ordinal();
+        synchronized (seen) {
+            if (!seen.get(bit)) {
+                seen.set(bit);
+                ESTIMATED_PREPARES.increment();
+            }
+        }
+    }
+
+    private static Connection physical(Connection conn) {
+        if (conn instanceof DelegatingConnection<?> delegating) {
+            Connection inner = delegating.getInnermostDelegate();
+            if (inner != null) return inner;
+        }
+        return conn;
+    }
+}
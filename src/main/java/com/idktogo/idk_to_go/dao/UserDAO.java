@@ -1,11 +1,15 @@
 package com.idktogo.idk_to_go.dao;
 
+import com.idktogo.idk_to_go.core.AppExecutors;
 import com.idktogo.idk_to_go.core.DatabaseConnector;
+import com.idktogo.idk_to_go.model.Page;
 import com.idktogo.idk_to_go.model.User;
 
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 public final class UserDAO {
 
@@ -14,12 +18,8 @@ public final class UserDAO {
     // Create operations
     public static CompletableFuture<Integer> create(User user) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = """
-                INSERT INTO users (username, email, first_name, last_name, password, is_admin)
-                VALUES (?, ?, ?, ?, ?, ?)
-            """;
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                 PreparedStatement ps = StatementRegistry.prepareWithKeys(conn, Sql.USER_INSERT)) {
 
                 ps.setString(1, user.username());
                 ps.setString(2, user.email());
@@ -36,24 +36,24 @@ public final class UserDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to create user: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Read operations
     public static CompletableFuture<Optional<User>> findById(int id) {
-        return querySingle("SELECT * FROM users WHERE id = ?", ps -> ps.setInt(1, id));
+        return querySingle(Sql.USER_BY_ID, ps -> ps.setInt(1, id));
     }
 
     public static CompletableFuture<Optional<User>> findByUsername(String username) {
-        return querySingle("SELECT * FROM users WHERE username = ?", ps -> ps.setString(1, username));
+        return querySingle(Sql.USER_BY_USERNAME, ps -> ps.setString(1, username));
     }
 
     public static CompletableFuture<Optional<User>> findByEmail(String email) {
-        return querySingle("SELECT * FROM users WHERE email = ?", ps -> ps.setString(1, email));
+        return querySingle(Sql.USER_BY_EMAIL, ps -> ps.setString(1, email));
     }
 
     public static CompletableFuture<Optional<User>> findByCredentials(String username, String password) {
-        return querySingle("SELECT * FROM users WHERE username = ? AND password = ?",
+        return querySingle(Sql.USER_BY_CREDENTIALS,
                 ps -> { ps.setString(1, username); ps.setString(2, password); });
     }
 
@@ -61,26 +61,43 @@ public final class UserDAO {
         return CompletableFuture.supplyAsync(() -> {
             List<User> list = new ArrayList<>();
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement("SELECT * FROM users ORDER BY id ASC");
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.USER_LIST_ALL);
                  ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) list.add(mapRow(rs));
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to list users: " + e.getMessage(), e);
             }
             return list;
-        });
+        }, AppExecutors.db());
+    }
+
+    // List users by id using keyset pagination; pass the last user of the previous page, or null
+    public static CompletableFuture<Page<User>> findPage(User after, int limit) {
+        int size = RowStreams.pageSize(limit);
+        Sql sql = after == null ? Sql.USER_PAGE_FIRST : Sql.USER_PAGE_AFTER;
+
+        return RowStreams.page(sql, size, ps -> {
+            int i = 1;
+            if (after != null) ps.setInt(i++, after.id());
+            ps.setInt(i, size + 1);
+        }, UserDAO::mapRow, "users");
+    }
+
+    // Stream every user to the consumer without materializing the list
+    public static CompletableFuture<Long> streamAll(Consumer<? super User> consumer) {
+        return RowStreams.forEach(Sql.USER_LIST_ALL, ps -> {}, UserDAO::mapRow, consumer, "users");
+    }
+
+    // Publish every user with subscriber-driven backpressure
+    public static Flow.Publisher<User> publishAll() {
+        return RowStreams.publisher(Sql.USER_LIST_ALL, ps -> {}, UserDAO::mapRow, "users");
     }
 
     // Update operations
     public static CompletableFuture<Boolean> update(User user) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = """
-                UPDATE users
-                SET username = ?, email = ?, first_name = ?, last_name = ?, password = ?
-                WHERE id = ?
-            """;
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, Sql.USER_UPDATE)) {
 
                 ps.setString(1, user.username());
                 ps.setString(2, user.email());
@@ -92,12 +109,12 @@ public final class UserDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to update user: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     // Delete operations
     public static CompletableFuture<Boolean> delete(int id) {
-        return executeUpdate("DELETE FROM users WHERE id = ?", ps -> ps.setInt(1, id));
+        return executeUpdate(Sql.USER_DELETE, ps -> ps.setInt(1, id));
     }
 
     // Utility methods
@@ -114,10 +131,10 @@ public final class UserDAO {
         );
     }
 
-    private static CompletableFuture<Optional<User>> querySingle(String sql, ThrowingConsumer<PreparedStatement> binder) {
+    private static CompletableFuture<Optional<User>> querySingle(Sql sql, ThrowingConsumer<PreparedStatement> binder) {
         return CompletableFuture.supplyAsync(() -> {
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, sql)) {
                 binder.accept(ps);
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) return Optional.of(mapRow(rs));
@@ -126,19 +143,19 @@ public final class UserDAO {
             } catch (SQLException e) {
                 throw new RuntimeException("Query failed: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
-    private static CompletableFuture<Boolean> executeUpdate(String sql, ThrowingConsumer<PreparedStatement> binder) {
+    private static CompletableFuture<Boolean> executeUpdate(Sql sql, ThrowingConsumer<PreparedStatement> binder) {
         return CompletableFuture.supplyAsync(() -> {
             try (Connection conn = DatabaseConnector.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = StatementRegistry.prepare(conn, sql)) {
                 binder.accept(ps);
                 return ps.executeUpdate() > 0;
             } catch (SQLException e) {
                 throw new RuntimeException("SQL update failed: " + e.getMessage(), e);
             }
-        });
+        }, AppExecutors.db());
     }
 
     @FunctionalInterface
@@ -1,37 +1,16 @@
 package com.idktogo.idk_to_go.data;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.*;
-import java.util.prefs.Preferences;
-
 /**
  * Manages local file operations for session logs and user preferences.
+ * Session logs go to {@link SessionJournal}; preferences are served from {@link PreferenceStore}'s in-memory copy.
  */
 public class AppStorage {
-    private static final String FILE_PATH = "data/history.txt";
-    private static final Preferences prefs = Preferences.userNodeForPackage(AppStorage.class);
-
-    // Ensure the data directory and history file exist
-    private static void ensureFileExists() throws IOException {
-        Path dir = Paths.get("data");
-        if (!Files.exists(dir)) Files.createDirectories(dir);
-
-        Path file = Paths.get(FILE_PATH);
-        if (!Files.exists(file)) Files.createFile(file);
-    }
-
-    // Append a new session message to history.txt
+    // Append a new session message to the session journal (data/history.txt)
     public static void saveSession(String content) {
-        try {
-            ensureFileExists();
-            try (FileWriter writer = new FileWriter(FILE_PATH, true)) {
-                writer.write(content + System.lineSeparator());
-            }
-            System.out.println("Session saved: " + content);
-        } catch (IOException e) {
+        SessionJournal.append(content).exceptionally(e -> {
             System.err.println("Failed to save session: " + e.getMessage());
-        }
+            return null;
+        });
     }
 
     private static int currentUserId = -1;
@@ -48,38 +27,24 @@ public class AppStorage {
         currentUsername = null;
     }
 
-    // Save a key-value pair
+    // Save a key-value pair (written back to the preferences store in the background)
     public static void save(String key, String value) {
-        try {
-            prefs.put(key, value);
-            System.out.println("Saved key '" + key + "' with value: " + value);
-        } catch (Exception e) {
-            System.err.println("Error saving key " + key + ": " + e.getMessage());
-        }
+        PreferenceStore.put(key, value);
     }
 
     // Load a saved value
     public static String load(String key) {
-        return prefs.get(key, null);
+        return PreferenceStore.getString(key);
     }
 
     // Remove a saved key
     public static void remove(String key) {
-        try {
-            prefs.remove(key);
-            System.out.println("Removed key '" + key + "' from storage.");
-        } catch (Exception e) {
-            System.err.println("Error removing key " + key + ": " + e.getMessage());
-        }
+        PreferenceStore.remove(key);
     }
 
     // Clear all stored preferences
     public static void clearAll() {
-        try {
-            prefs.clear();
-            System.out.println("All AppStorage data cleared.");
-        } catch (Exception e) {
-            System.err.println("Error clearing AppStorage: " + e.getMessage());
-        }
+        PreferenceStore.clear();
+        System.out.println("All AppStorage data cleared.");
     }
 }
@@ -0,0 +1,161 @@
+package com.idktogo.idk_to_go.data;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary copy of the restaurant catalog and menus in data/catalog.snapshot.
+ * The file is read in one call into a heap buffer and decoded from there. It is not memory-mapped:
+ * a mapping stays open until garbage collection and would block save() from replacing the file on Windows.
+ * Layout (big-endian): magic, format version, save time, restaurant rows, menu rows, CRC32 of
+ * everything before it. Strings are a byte length (-1 for null) followed by UTF-8 bytes.
+ * A missing, truncated or corrupt file simply loads as empty.
+ */
+public final class CatalogSnapshot {
+
+    private static final Path FILE = Paths.get("data", "catalog.snapshot");
+    private static final int MAGIC = 0x49444B43; // "IDKC"
+    private static final int FORMAT_VERSION = 1;
+
+    private CatalogSnapshot() {}
+
+    /**
+     * Catalog rows as they were when the snapshot was written.
+     */
+    public record Contents(long savedAtMillis, List<Restaurant> restaurants, List<MenuItem> menuItems) {}
+
+    // Read the snapshot into memory and decode it
+    public static Optional<Contents> load() {
+        if (!Files.isRegularFile(FILE)) return Optional.empty();
+
+        try {
+            long size = Files.size(FILE);
+            if (size < 4 * Integer.BYTES + Long.BYTES || size > Integer.MAX_VALUE - 8) {
+                System.err.println("Ignoring catalog snapshot: unexpected size " + size);
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(FILE));
+            int bodyLength = buffer.capacity() - Integer.BYTES;
+            if (bodyLength < 3 * Integer.BYTES + Long.BYTES) {
+                System.err.println("Ignoring catalog snapshot: unexpected size " + buffer.capacity());
+                return Optional.empty();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+                System.err.println("Ignoring catalog snapshot: checksum mismatch");
+                return Optional.empty();
+            }
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                System.err.println("Ignoring catalog snapshot: unknown format");
+                return Optional.empty();
+            }
+            long savedAt = buffer.getLong();
+
+            int restaurantCount = buffer.getInt();
+            List<Restaurant> restaurants = new ArrayList<>(restaurantCount);
+            for (int i = 0; i < restaurantCount; i++) {
+                restaurants.add(new Restaurant(buffer.getInt(), readString(buffer), readString(buffer), readString(buffer),
+                        buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), readString(buffer)));
+            }
+
+            int itemCount = buffer.getInt();
+            List<MenuItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(new MenuItem(buffer.getInt(), buffer.getInt(), readString(buffer), buffer.getDouble()));
+            }
+
+            return Optional.of(new Contents(savedAt, List.copyOf(restaurants), List.copyOf(items)));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Failed to load catalog snapshot: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Write a new snapshot; the old file is replaced atomically once the new one is complete
+    public static void save(List<Restaurant> restaurants, List<MenuItem> menuItems) {
+        try {
+            Files.createDirectories(FILE.getParent());
+            Path temp = Files.createTempFile(FILE.getParent(), "catalog", ".snapshot.tmp");
+
+            try {
+                CRC32 crc = new CRC32();
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    DataOutputStream body = new DataOutputStream(new CheckedOutputStream(out, crc));
+                    body.writeInt(MAGIC);
+                    body.writeInt(FORMAT_VERSION);
+                    body.writeLong(System.currentTimeMillis());
+
+                    body.writeInt(restaurants.size());
+                    for (Restaurant r : restaurants) {
+                        body.writeInt(r.id());
+                        writeString(body, r.name());
+                        writeString(body, r.category());
+                        writeString(body, r.location());
+                        body.writeInt(r.likes());
+                        body.writeInt(r.dislikes());
+                        body.writeInt(r.netScore());
+                        body.writeInt(r.weeklyLikes());
+                        writeString(body, r.logo());
+                    }
+
+                    body.writeInt(menuItems.size());
+                    for (MenuItem item : menuItems) {
+                        body.writeInt(item.id());
+                        body.writeInt(item.restaurantId());
+                        writeString(body, item.itemName());
+                        body.writeDouble(item.price());
+                    }
+
+                    body.flush();
+                    out.writeInt((int) crc.getValue());
+                }
+                Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            System.out.println("Catalog snapshot saved: " + restaurants.size() + " restaurants, " + menuItems.size() + " menu items");
+        } catch (IOException e) {
+            System.err.println("Failed to save catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        if (length > buffer.remaining()) throw new BufferUnderflowException();
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package com.idktogo.idk_to_go.data;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+/**
+ * In-memory copy of the user preferences that {@link AppStorage} keeps in java.util.prefs.
+ * All keys are loaded when the class is initialized and every read is served from memory. Writes
+ * update memory immediately and are written back in one batch "prefs.flushDelayMillis" after the
+ * first unsaved change; a batch that fails to write is retried after the same delay.
+ * {@link #shutdown()} (and a JVM shutdown hook) writes anything still pending.
+ */
+public final class PreferenceStore {
+
+    private static final Preferences PREFS = Preferences.userNodeForPackage(AppStorage.class);
+
+    private static final Map<String, String> VALUES = new ConcurrentHashMap<>();
+
+    // Changes not yet written back (empty for a removal), guarded by PreferenceStore.class
+    private static final Map<String, Optional<String>> DIRTY = new HashMap<>();
+    private static boolean clearPending;
+    private static boolean flushScheduled;
+
+    private static final Object FLUSH_LOCK = new Object();
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "prefs-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        try {
+            for (String key : PREFS.keys()) {
+                String value = PREFS.get(key, null);
+                if (value != null) VALUES.put(key, value);
+            }
+        } catch (BackingStoreException e) {
+            System.err.println("Failed to load preferences: " + e.getMessage());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(PreferenceStore::flush, "prefs-shutdown-flush"));
+    }
+
+    private PreferenceStore() {}
+
+    // Get a value, or null if it isn't set
+    public static String getString(String key) {
+        return VALUES.get(key);
+    }
+
+    public static String getString(String key, String defaultValue) {
+        return VALUES.getOrDefault(key, defaultValue);
+    }
+
+    // Get an integer value, or null if it isn't set or isn't a number
+    public static Integer getInteger(String key) {
+        String value = VALUES.get(key);
+        if (value == null) return null;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = VALUES.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    // Get an enum value by name (case-insensitive), or the default if it isn't set or doesn't match
+    public static <E extends Enum<E>> E getEnum(String key, E defaultValue) {
+        String value = VALUES.get(key);
+        if (value == null) return defaultValue;
+        for (E constant : defaultValue.getDeclaringClass().getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value.trim())) return constant;
+        }
+        return defaultValue;
+    }
+
+    // Set a value (null removes it)
+    public static void put(String key, String value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        synchronized (PreferenceStore.class) {
+            VALUES.put(key, value);
+            DIRTY.put(key, Optional.of(value));
+            scheduleFlush();
+        }
+    }
+
+    public static void remove(String key) {
+        synchronized (PreferenceStore.class) {
+            VALUES.remove(key);
+            DIRTY.put(key, Optional.empty());
+            scheduleFlush();
+        }
+    }
+
+    // Remove every preference
+    public static void clear() {
+        synchronized (PreferenceStore.class) {
+            VALUES.clear();
+            DIRTY.clear();
+            clearPending = true;
+            scheduleFlush();
+        }
+    }
+
+    // Write pending changes back to the preferences store now
+    public static void flush() {
+        synchronized (FLUSH_LOCK) {
+            Map<String, Optional<String>> changes;
+            boolean clear;
+            synchronized (PreferenceStore.class) {
+                if (DIRTY.isEmpty() && !clearPending) return;
+                changes = new HashMap<>(DIRTY);
+                clear = clearPending;
+                DIRTY.clear();
+                clearPending = false;
+            }
+
+            try {
+                if (clear) PREFS.clear();
+                changes.forEach((key, value) -> value.ifPresentOrElse(v -> PREFS.put(key, v), () -> PREFS.remove(key)));
+                PREFS.flush();
+            } catch (BackingStoreException | IllegalStateException e) {
+                System.err.println("Failed to write preferences: " + e.getMessage());
+                requeue(changes, clear);
+            }
+        }
+    }
+
+    // Write pending changes and stop the background flusher
+    public static void shutdown() {
+        FLUSHER.shutdown();
+        flush();
+    }
+
+    // Caller holds PreferenceStore.class
+    private static void scheduleFlush() {
+        if (flushScheduled || FLUSHER.isShutdown()) return;
+        flushScheduled = true;
+        FLUSHER.schedule(() -> {
+            synchronized (PreferenceStore.class) {
+                flushScheduled = false;
+            }
+            flush();
+        }, Math.max(0, AppConfig.getLong("prefs.flushDelayMillis", 500)), TimeUnit.MILLISECONDS);
+    }
+
+    // Put a failed batch back, unless newer changes to the same keys have arrived since, and retry it later
+    private static void requeue(Map<String, Optional<String>> changes, boolean clear) {
+        synchronized (PreferenceStore.class) {
+            changes.forEach(DIRTY::putIfAbsent);
+            clearPending |= clear;
+            scheduleFlush();
+        }
+    }
+}
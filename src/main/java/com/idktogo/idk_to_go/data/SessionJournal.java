@@ -0,0 +1,290 @@
+package com.idktogo.idk_to_go.data;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only journal of session messages in data/history.txt, one line per entry.
+ * Appends are queued and written by a single writer thread through one long-lived FileChannel;
+ * every entry waiting when the writer wakes up goes out in the same write and force (group commit).
+ * When the active file reaches "journal.maxBytes" it is renamed to history-&lt;timestamp&gt;.txt
+ * and, if "journal.compress" is true, gzipped in the background. At most "journal.maxSegments"
+ * rotated segments are kept.
+ */
+public final class SessionJournal {
+
+    private static final Path DIR = Paths.get("data");
+    private static final Path ACTIVE = DIR.resolve("history.txt");
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final DateTimeFormatter SEGMENT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    // Most entries written per group commit
+    private static final int MAX_BATCH = 256;
+
+    private record Entry(String line, CompletableFuture<Void> written) {}
+
+    // Tells the writer thread to drain and stop
+    private static final Entry STOP = new Entry("", null);
+
+    private static final BlockingQueue<Entry> QUEUE = new LinkedBlockingQueue<>();
+
+    // Held while segment files are renamed or deleted (rotation, compression, pruning) and while
+    // they are read, so readers see a stable set of files; separate from the append lock
+    private static final Object SEGMENT_LOCK = new Object();
+
+    private static Thread writer;
+    private static FileChannel channel;
+    private static boolean stopped;
+
+    private SessionJournal() {}
+
+    /**
+     * Queues a line for the journal; newlines in it are replaced with spaces.
+     * @return Completes once the line has been written (and forced, if "journal.sync" is true).
+     */
+    public static CompletableFuture<Void> append(String line) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        String clean = line == null ? "" : line.replace('\r', ' ').replace('\n', ' ');
+
+        synchronized (SessionJournal.class) {
+            if (stopped) {
+                written.completeExceptionally(new IllegalStateException("Session journal is shut down"));
+                return written;
+            }
+            if (writer == null) {
+                writer = new Thread(SessionJournal::writeLoop, "session-journal");
+                writer.setDaemon(true);
+                writer.start();
+            }
+            QUEUE.add(new Entry(clean, written));
+        }
+        return written;
+    }
+
+    // Write everything still queued, then close the journal
+    public static void shutdown() {
+        Thread t;
+        synchronized (SessionJournal.class) {
+            if (stopped) return;
+            stopped = true;
+            t = writer;
+            if (t != null) QUEUE.add(STOP);
+        }
+        if (t == null) return;
+
+        try {
+            t.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads every entry, oldest first, across rotated (and compressed) segments and the active file.
+     * Entries still queued for writing are not included. Rotation waits until the scan is done,
+     * so the consumer should not block on appends.
+     * @return The number of entries read.
+     */
+    public static long scan(Consumer<String> consumer) throws IOException {
+        synchronized (SEGMENT_LOCK) {
+            long count = 0;
+            for (Path segment : segments()) count += readSegment(segment, consumer);
+            if (Files.exists(ACTIVE)) count += readSegment(ACTIVE, consumer);
+            return count;
+        }
+    }
+
+    /**
+     * Reads the newest entries, oldest first, opening only as many segments as needed.
+     */
+    public static List<String> tail(int limit) throws IOException {
+        Deque<String> result = new ArrayDeque<>(Math.max(0, limit));
+        if (limit <= 0) return List.of();
+
+        synchronized (SEGMENT_LOCK) {
+            List<Path> newestFirst = new ArrayList<>(segments());
+            newestFirst.add(ACTIVE);
+            Collections.reverse(newestFirst);
+
+            for (Path segment : newestFirst) {
+                if (!Files.exists(segment)) continue;
+                List<String> lines = new ArrayList<>();
+                readSegment(segment, lines::add);
+                for (int i = lines.size() - 1; i >= 0 && result.size() < limit; i--) result.addFirst(lines.get(i));
+                if (result.size() >= limit) break;
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    // Writer thread: block for one entry, then take whatever else is waiting and commit it together
+    private static void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            QUEUE.drainTo(batch, MAX_BATCH - 1);
+
+            // Nothing can be queued behind STOP: append() refuses new entries once shutdown() has run
+            if (batch.remove(STOP)) running = false;
+            if (!batch.isEmpty()) commit(batch);
+            batch.clear();
+        }
+        closeChannel();
+    }
+
+    private static void commit(List<Entry> batch) {
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : batch) text.append(entry.line()).append('\n');
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+
+        try {
+            FileChannel out = channel();
+            while (bytes.hasRemaining()) out.write(bytes);
+            if (AppConfig.getBoolean("journal.sync", true)) out.force(false);
+            batch.forEach(entry -> entry.written().complete(null));
+
+            if (out.size() >= Math.max(1, AppConfig.getLong("journal.maxBytes", 1024 * 1024))) rotate();
+        } catch (IOException e) {
+            System.err.println("Failed to write session journal: " + e.getMessage());
+            closeChannel();
+            batch.forEach(entry -> entry.written().completeExceptionally(e));
+        }
+    }
+
+    private static FileChannel channel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(DIR);
+            channel = FileChannel.open(ACTIVE, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private static void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing session journal: " + e.getMessage());
+        } finally {
+            channel = null;
+        }
+    }
+
+    // Move the full active file aside; the next commit opens a fresh one
+    private static void rotate() throws IOException {
+        closeChannel();
+        Path segment = DIR.resolve(SEGMENT_PREFIX + LocalDateTime.now().format(SEGMENT_TIME) + ".txt");
+        synchronized (SEGMENT_LOCK) {
+            Files.move(ACTIVE, segment);
+        }
+        System.out.println("Session journal rotated to " + segment.getFileName());
+
+        if (AppConfig.getBoolean("journal.compress", true)) {
+            AppExecutors.background().execute(() -> {
+                compress(segment);
+                pruneSegments();
+            });
+        } else {
+            pruneSegments();
+        }
+    }
+
+    private static void compress(Path segment) {
+        Path gz = segment.resolveSibling(segment.getFileName() + ".gz");
+        Path temp = segment.resolveSibling(gz.getFileName() + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(segment);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                in.transferTo(out);
+            }
+            synchronized (SEGMENT_LOCK) {
+                Files.move(temp, gz);
+                Files.delete(segment);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to compress " + segment.getFileName() + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The uncompressed segment is still there
+            }
+        }
+    }
+
+    private static void pruneSegments() {
+        int keep = Math.max(0, AppConfig.getInt("journal.maxSegments", 10));
+        synchronized (SEGMENT_LOCK) {
+            try {
+                List<Path> all = segments();
+                for (int i = 0; i < all.size() - keep; i++) Files.deleteIfExists(all.get(i));
+            } catch (IOException e) {
+                System.err.println("Failed to prune session journal: " + e.getMessage());
+            }
+        }
+    }
+
+    // Rotated segments, oldest first (timestamps in the names sort chronologically)
+    private static List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(DIR)) return segments;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(DIR, SEGMENT_PREFIX + "*.{txt,txt.gz}")) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparing(p -> p.getFileName().toString()));
+
+        // Both forms remain only if compression could not delete the plain one; read the plain one
+        segments.removeIf(p -> p.toString().endsWith(".gz")
+                && segments.contains(p.resolveSibling(p.getFileName().toString().replace(".gz", ""))));
+        return segments;
+    }
+
+    private static long readSegment(Path segment, Consumer<String> consumer) throws IOException {
+        InputStream in = Files.newInputStream(segment);
+        if (segment.toString().endsWith(".gz")) in = new GZIPInputStream(in);
+
+        long count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(line);
+                count++;
+            }
+        }
+        return count;
+    }
+}
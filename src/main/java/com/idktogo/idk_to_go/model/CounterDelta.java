@@ -0,0 +1,49 @@
+package com.idktogo.idk_to_go.model;
+
+public record CounterDelta(
+        int likes,
+        int dislikes,
+        int netScore,
+        int weeklyLikes
+) {
+    public static final CounterDelta ZERO = new CounterDelta(0, 0, 0, 0);
+
+    // Delta for a user's reaction moving from oldScore to newScore (1 = like, -1 = dislike, 0 = neutral)
+    public static CounterDelta forTransition(int oldScore, int newScore) {
+        int likes = (newScore == 1 ? 1 : 0) - (oldScore == 1 ? 1 : 0);
+        int dislikes = (newScore == -1 ? 1 : 0) - (oldScore == -1 ? 1 : 0);
+        int net = newScore - oldScore;
+        return new CounterDelta(likes, dislikes, net, net);
+    }
+
+    public CounterDelta plus(CounterDelta other) {
+        return new CounterDelta(
+                likes + other.likes,
+                dislikes + other.dislikes,
+                netScore + other.netScore,
+                weeklyLikes + other.weeklyLikes
+        );
+    }
+
+    public CounterDelta minus(CounterDelta other) {
+        return new CounterDelta(
+                likes - other.likes,
+                dislikes - other.dislikes,
+                netScore - other.netScore,
+                weeklyLikes - other.weeklyLikes
+        );
+    }
+
+    public boolean isZero() {
+        return likes == 0 && dislikes == 0 && netScore == 0 && weeklyLikes == 0;
+    }
+
+    // Apply this delta to a restaurant's counts (likes/dislikes never go below zero)
+    public Restaurant applyTo(Restaurant r) {
+        if (isZero()) return r;
+        return r.withLikes(Math.max(r.likes() + likes, 0))
+                .withDislikes(Math.max(r.dislikes() + dislikes, 0))
+                .withNetScore(r.netScore() + netScore)
+                .withWeeklyLikes(r.weeklyLikes() + weeklyLikes);
+    }
+}
@@ -0,0 +1,6 @@
+package com.idktogo.idk_to_go.model;
+
+public record HistoryEntry(
+        UserHistory history,
+        Restaurant restaurant
+) {}
@@ -0,0 +1,13 @@
+package com.idktogo.idk_to_go.model;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass last() back as the cursor for the next page
+public record Page<T>(
+        List<T> items,
+        boolean hasMore
+) {
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
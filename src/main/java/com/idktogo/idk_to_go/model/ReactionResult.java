@@ -0,0 +1,6 @@
+package com.idktogo.idk_to_go.model;
+
+public record ReactionResult(
+        Restaurant restaurant,   // Counts as stored before the delta was applied
+        CounterDelta delta       // Counter change caused by this reaction (ZERO if unchanged)
+) {}
@@ -0,0 +1,34 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.HistoryEntry;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for users' restaurant interactions (likes, dislikes and views).
+ * Listings are newest first.
+ */
+public interface HistoryRepository {
+
+    // likedValue: 1 = like, -1 = dislike, null = neutral
+    CompletableFuture<Void> upsertInteraction(int userId, int restaurantId, Integer likedValue);
+
+    CompletableFuture<Optional<Integer>> getInteractionType(int userId, int restaurantId);
+
+    CompletableFuture<List<UserHistory>> listByUser(int userId);
+
+    // Keyset page ordered by (ts, id) descending; after is the last entry of the previous page or null
+    CompletableFuture<Page<UserHistory>> listByUserPage(int userId, UserHistory after, int limit);
+
+    CompletableFuture<List<HistoryEntry>> listByUserWithRestaurants(int userId);
+
+    CompletableFuture<Boolean> deleteInteraction(int userId, int restaurantId);
+
+    CompletableFuture<Integer> deleteAllForUser(int userId);
+
+    CompletableFuture<Void> deleteAllForAllUsers();
+}
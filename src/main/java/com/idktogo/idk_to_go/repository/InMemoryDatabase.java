@@ -0,0 +1,166 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.User;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Tables and secondary indexes shared by the in-memory repositories.
+ * Reads go straight to the concurrent collections without locking. Each table has one
+ * write lock so a row and all of its index entries change together; operations that touch
+ * two tables take the history lock before the restaurant lock. Reads of the sorted restaurant
+ * indexes go through {@link #readRestaurantIndexes}, so they never see a row between its old
+ * index entry being removed and its new one being added.
+ */
+final class InMemoryDatabase {
+
+    static final Comparator<Restaurant> BY_NAME = Comparator
+            .comparing(Restaurant::name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(Restaurant::id);
+    static final Comparator<Restaurant> BY_WEEKLY_LIKES = Comparator
+            .comparingInt(Restaurant::weeklyLikes).reversed()
+            .thenComparingInt(Restaurant::id);
+    static final Comparator<Restaurant> BY_NET_SCORE = Comparator
+            .comparingInt(Restaurant::netScore).reversed()
+            .thenComparingInt(Restaurant::id);
+    static final Comparator<UserHistory> NEWEST_FIRST = Comparator
+            .comparing(UserHistory::timestamp)
+            .thenComparingInt(UserHistory::id)
+            .reversed();
+    static final Comparator<MenuItem> MENU_ORDER = Comparator
+            .comparing(MenuItem::itemName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(MenuItem::id);
+
+    // restaurants
+    final Object restaurantLock = new Object();
+    final AtomicInteger restaurantIds = new AtomicInteger();
+    final ConcurrentHashMap<Integer, Restaurant> restaurants = new ConcurrentHashMap<>();
+    final ConcurrentSkipListSet<Restaurant> restaurantsByName = new ConcurrentSkipListSet<>(BY_NAME);
+    final ConcurrentSkipListSet<Restaurant> restaurantsByWeeklyLikes = new ConcurrentSkipListSet<>(BY_WEEKLY_LIKES);
+    final ConcurrentSkipListSet<Restaurant> restaurantsByNetScore = new ConcurrentSkipListSet<>(BY_NET_SCORE);
+    // Write-locked while a row's index entries are swapped; readers validate an optimistic stamp
+    private final StampedLock restaurantIndexLock = new StampedLock();
+
+    // users
+    final Object userLock = new Object();
+    final AtomicInteger userIds = new AtomicInteger();
+    final ConcurrentHashMap<Integer, User> users = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, Integer> userIdsByUsername = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, Integer> userIdsByEmail = new ConcurrentHashMap<>();
+
+    // menu_items
+    final Object menuLock = new Object();
+    final AtomicInteger menuItemIds = new AtomicInteger();
+    final ConcurrentHashMap<Integer, MenuItem> menuItems = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, Set<Integer>> menuItemIdsByRestaurant = new ConcurrentHashMap<>();
+
+    // user_history: userId -> restaurantId -> row, plus a per-user newest-first timeline
+    final Object historyLock = new Object();
+    final AtomicInteger historyIds = new AtomicInteger();
+    final ConcurrentHashMap<Integer, ConcurrentHashMap<Integer, UserHistory>> history = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<UserHistory>> historyTimeline = new ConcurrentHashMap<>();
+
+    // Insert or replace a restaurant and re-index it (caller holds restaurantLock)
+    void putRestaurant(Restaurant restaurant) {
+        long stamp = restaurantIndexLock.writeLock();
+        try {
+            Restaurant old = restaurants.put(restaurant.id(), restaurant);
+            if (old != null) unindex(old);
+            restaurantsByName.add(restaurant);
+            restaurantsByWeeklyLikes.add(restaurant);
+            restaurantsByNetScore.add(restaurant);
+        } finally {
+            restaurantIndexLock.unlockWrite(stamp);
+        }
+    }
+
+    // Remove a restaurant and its index entries (caller holds restaurantLock)
+    Restaurant removeRestaurant(int id) {
+        long stamp = restaurantIndexLock.writeLock();
+        try {
+            Restaurant old = restaurants.remove(id);
+            if (old != null) unindex(old);
+            return old;
+        } finally {
+            restaurantIndexLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Reads the sorted restaurant indexes consistently. The read runs without locking and is
+     * repeated under the read lock only if a row was re-indexed meanwhile, so it must not have side effects.
+     */
+    <T> T readRestaurantIndexes(Supplier<T> read) {
+        long stamp = restaurantIndexLock.tryOptimisticRead();
+        if (stamp != 0) {
+            T result = read.get();
+            if (restaurantIndexLock.validate(stamp)) return result;
+        }
+        stamp = restaurantIndexLock.readLock();
+        try {
+            return read.get();
+        } finally {
+            restaurantIndexLock.unlockRead(stamp);
+        }
+    }
+
+    // Insert or replace a history row and its timeline entry (caller holds historyLock)
+    void putHistory(UserHistory row) {
+        UserHistory old = history.computeIfAbsent(row.userId(), k -> new ConcurrentHashMap<>())
+                .put(row.restaurantId(), row);
+        ConcurrentSkipListSet<UserHistory> timeline =
+                historyTimeline.computeIfAbsent(row.userId(), k -> new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        if (old != null) timeline.remove(old);
+        timeline.add(row);
+    }
+
+    // Remove one history row (caller holds historyLock)
+    UserHistory removeHistory(int userId, int restaurantId) {
+        ConcurrentHashMap<Integer, UserHistory> rows = history.get(userId);
+        if (rows == null) return null;
+        UserHistory old = rows.remove(restaurantId);
+        if (old != null) {
+            ConcurrentSkipListSet<UserHistory> timeline = historyTimeline.get(userId);
+            if (timeline != null) timeline.remove(old);
+        }
+        return old;
+    }
+
+    // Usernames and emails are matched case-insensitively, like the MySQL default collation
+    static String key(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Run an operation synchronously and surface failures the same way the async DAOs do
+    static <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private void unindex(Restaurant restaurant) {
+        restaurantsByName.remove(restaurant);
+        restaurantsByWeeklyLikes.remove(restaurant);
+        restaurantsByNetScore.remove(restaurant);
+    }
+}
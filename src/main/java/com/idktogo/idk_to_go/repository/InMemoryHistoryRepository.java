@@ -0,0 +1,109 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.HistoryEntry;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// User history held in InMemoryDatabase; listings walk the per-user newest-first timeline
+final class InMemoryHistoryRepository implements HistoryRepository {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final InMemoryDatabase db;
+
+    InMemoryHistoryRepository(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertInteraction(int userId, int restaurantId, Integer likedValue) {
+        return InMemoryDatabase.run(() -> {
+            synchronized (db.historyLock) {
+                Map<Integer, UserHistory> rows = db.history.get(userId);
+                UserHistory existing = rows == null ? null : rows.get(restaurantId);
+                int id = existing == null ? db.historyIds.incrementAndGet() : existing.id();
+                db.putHistory(new UserHistory(id, userId, restaurantId, likedValue, LocalDateTime.now()));
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Integer>> getInteractionType(int userId, int restaurantId) {
+        Map<Integer, UserHistory> rows = db.history.get(userId);
+        UserHistory row = rows == null ? null : rows.get(restaurantId);
+        return CompletableFuture.completedFuture(row == null ? Optional.empty() : Optional.ofNullable(row.liked()));
+    }
+
+    @Override
+    public CompletableFuture<List<UserHistory>> listByUser(int userId) {
+        return CompletableFuture.completedFuture(new ArrayList<>(timeline(userId)));
+    }
+
+    @Override
+    public CompletableFuture<Page<UserHistory>> listByUserPage(int userId, UserHistory after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        NavigableSet<UserHistory> timeline = after == null ? timeline(userId) : timeline(userId).tailSet(after, false);
+
+        List<UserHistory> items = new ArrayList<>(size);
+        Iterator<UserHistory> it = timeline.iterator();
+        while (items.size() < size && it.hasNext()) items.add(it.next());
+        return CompletableFuture.completedFuture(new Page<>(List.copyOf(items), it.hasNext()));
+    }
+
+    // Rows whose restaurant no longer exists are skipped, like the inner join in HistoryDAO
+    @Override
+    public CompletableFuture<List<HistoryEntry>> listByUserWithRestaurants(int userId) {
+        List<HistoryEntry> entries = new ArrayList<>();
+        for (UserHistory row : timeline(userId)) {
+            Restaurant r = db.restaurants.get(row.restaurantId());
+            if (r != null) entries.add(new HistoryEntry(row, r));
+        }
+        return CompletableFuture.completedFuture(entries);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteInteraction(int userId, int restaurantId) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.historyLock) {
+                return db.removeHistory(userId, restaurantId) != null;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteAllForUser(int userId) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.historyLock) {
+                db.historyTimeline.remove(userId);
+                Map<Integer, UserHistory> removed = db.history.remove(userId);
+                return removed == null ? 0 : removed.size();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllForAllUsers() {
+        return InMemoryDatabase.run(() -> {
+            synchronized (db.historyLock) {
+                db.history.clear();
+                db.historyTimeline.clear();
+            }
+        });
+    }
+
+    private NavigableSet<UserHistory> timeline(int userId) {
+        NavigableSet<UserHistory> timeline = db.historyTimeline.get(userId);
+        return timeline == null ? Collections.emptyNavigableSet() : timeline;
+    }
+}
@@ -0,0 +1,93 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Menu items held in InMemoryDatabase, indexed by restaurant
+final class InMemoryMenuItemRepository implements MenuItemRepository {
+
+    private final InMemoryDatabase db;
+
+    InMemoryMenuItemRepository(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<MenuItem> create(MenuItem item) {
+        return createAll(List.of(item)).thenApply(created -> created.get(0));
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> createAll(List<MenuItem> items) {
+        return InMemoryDatabase.supply(() -> {
+            List<MenuItem> created = new ArrayList<>(items.size());
+            synchronized (db.menuLock) {
+                for (MenuItem item : items) {
+                    MenuItem row = new MenuItem(db.menuItemIds.incrementAndGet(),
+                            item.restaurantId(), item.itemName(), item.price());
+                    db.menuItems.put(row.id(), row);
+                    db.menuItemIdsByRestaurant.computeIfAbsent(row.restaurantId(), k -> ConcurrentHashMap.newKeySet())
+                            .add(row.id());
+                    created.add(row);
+                }
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> listByRestaurant(int restaurantId) {
+        Set<Integer> ids = db.menuItemIdsByRestaurant.getOrDefault(restaurantId, Set.of());
+        List<MenuItem> items = ids.stream()
+                .map(db.menuItems::get)
+                .filter(Objects::nonNull)
+                .sorted(InMemoryDatabase.MENU_ORDER)
+                .toList();
+        return CompletableFuture.completedFuture(items);
+    }
+
+    @Override
+    public CompletableFuture<Long> streamAll(Consumer<? super MenuItem> consumer) {
+        return InMemoryDatabase.supply(() -> {
+            List<MenuItem> items = db.menuItems.values().stream()
+                    .sorted(Comparator.comparingInt(MenuItem::restaurantId).thenComparingInt(MenuItem::id))
+                    .toList();
+            items.forEach(consumer);
+            return (long) items.size();
+        });
+    }
+
+    // Only the name and price change, as in MenuItemDAO.update
+    @Override
+    public CompletableFuture<Boolean> update(MenuItem item) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.menuLock) {
+                MenuItem current = db.menuItems.get(item.id());
+                if (current == null) return false;
+                db.menuItems.put(item.id(), new MenuItem(item.id(), current.restaurantId(), item.itemName(), item.price()));
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(int id) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.menuLock) {
+                MenuItem removed = db.menuItems.remove(id);
+                if (removed == null) return false;
+                Set<Integer> ids = db.menuItemIdsByRestaurant.get(removed.restaurantId());
+                if (ids != null) ids.remove(id);
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.CounterDelta;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.ReactionResult;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Restaurants held in InMemoryDatabase; rankings are read from the sorted indexes
+final class InMemoryRestaurantRepository implements RestaurantRepository {
+
+    // Same caps as RestaurantDAO
+    private static final int MAX_TOP_WEEKLY = 100;
+    private static final int TOP_NET_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final InMemoryDatabase db;
+
+    InMemoryRestaurantRepository(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<Void> create(Restaurant r) {
+        return createAll(List.of(r)).thenAccept(created -> {});
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> createAll(List<Restaurant> restaurants) {
+        return InMemoryDatabase.supply(() -> {
+            List<Restaurant> created = new ArrayList<>(restaurants.size());
+            synchronized (db.restaurantLock) {
+                for (Restaurant r : restaurants) {
+                    Restaurant row = new Restaurant(db.restaurantIds.incrementAndGet(), r.name(), r.category(),
+                            r.location(), r.likes(), r.dislikes(), r.netScore(), r.weeklyLikes(), r.logo());
+                    db.putRestaurant(row);
+                    created.add(row);
+                }
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Restaurant>> findById(int id) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(db.restaurants.get(id)));
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Restaurant>> findByIds(Collection<Integer> ids) {
+        Map<Integer, Restaurant> found = new HashMap<>();
+        for (Integer id : ids) {
+            Restaurant r = db.restaurants.get(id);
+            if (r != null) found.put(id, r);
+        }
+        return CompletableFuture.completedFuture(found);
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> listAll() {
+        return CompletableFuture.completedFuture(db.readRestaurantIndexes(() -> new ArrayList<>(db.restaurantsByName)));
+    }
+
+    @Override
+    public CompletableFuture<Page<Restaurant>> listPage(Restaurant after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return CompletableFuture.completedFuture(db.readRestaurantIndexes(() -> {
+            Set<Restaurant> tail = after == null ? db.restaurantsByName : db.restaurantsByName.tailSet(after, false);
+
+            List<Restaurant> items = new ArrayList<>(size);
+            Iterator<Restaurant> it = tail.iterator();
+            while (items.size() < size && it.hasNext()) items.add(it.next());
+            return new Page<>(List.copyOf(items), it.hasNext());
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Long> streamAll(Consumer<? super Restaurant> consumer) {
+        return InMemoryDatabase.supply(() -> {
+            long count = 0;
+            // Copied first: the consumer can't be called again if the read has to be retried
+            for (Restaurant r : db.readRestaurantIndexes(() -> new ArrayList<>(db.restaurantsByName))) {
+                consumer.accept(r);
+                count++;
+            }
+            return count;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, MAX_TOP_WEEKLY));
+        return CompletableFuture.completedFuture(db.readRestaurantIndexes(() -> db.restaurantsByWeeklyLikes.stream().limit(safeLimit).toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> topByNetScore() {
+        return CompletableFuture.completedFuture(db.readRestaurantIndexes(() -> db.restaurantsByNetScore.stream().limit(TOP_NET_LIMIT).toList()));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(Restaurant r) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.restaurantLock) {
+                Restaurant current = db.restaurants.get(r.id());
+                if (current == null) return false;
+                db.putRestaurant(new Restaurant(current.id(), r.name(), r.category(), r.location(),
+                        current.likes(), current.dislikes(), current.netScore(), current.weeklyLikes(), r.logo()));
+                return true;
+            }
+        });
+    }
+
+    // Removing a restaurant also drops its menu and history rows, as the foreign keys would
+    @Override
+    public CompletableFuture<Void> delete(int id) {
+        return InMemoryDatabase.run(() -> {
+            synchronized (db.historyLock) {
+                synchronized (db.restaurantLock) {
+                    db.removeRestaurant(id);
+                }
+                for (Integer userId : db.history.keySet()) db.removeHistory(userId, id);
+            }
+            synchronized (db.menuLock) {
+                Set<Integer> itemIds = db.menuItemIdsByRestaurant.remove(id);
+                if (itemIds != null) itemIds.forEach(db.menuItems::remove);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> resetWeeklyLikes() {
+        return InMemoryDatabase.run(() -> {
+            synchronized (db.restaurantLock) {
+                for (Restaurant r : List.copyOf(db.restaurants.values())) {
+                    if (r.weeklyLikes() != 0) db.putRestaurant(r.withWeeklyLikes(0));
+                }
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Restaurant>> applyReaction(int userId, int restaurantId, int reaction) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.historyLock) {
+                synchronized (db.restaurantLock) {
+                    Restaurant current = db.restaurants.get(restaurantId);
+                    if (current == null) return Optional.empty();
+
+                    CounterDelta delta = upsertReaction(userId, restaurantId, reaction);
+                    if (delta.isZero()) return Optional.of(current);
+
+                    Restaurant updated = delta.applyTo(current);
+                    db.putRestaurant(updated);
+                    return Optional.of(updated);
+                }
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<ReactionResult>> recordReaction(int userId, int restaurantId, int reaction) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.historyLock) {
+                Restaurant current = db.restaurants.get(restaurantId);
+                if (current == null) return Optional.empty();
+                return Optional.of(new ReactionResult(current, upsertReaction(userId, restaurantId, reaction)));
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> applyCounterDeltas(Map<Integer, CounterDelta> deltas) {
+        return InMemoryDatabase.run(() -> {
+            synchronized (db.restaurantLock) {
+                deltas.forEach((id, delta) -> {
+                    Restaurant current = db.restaurants.get(id);
+                    if (current != null && !delta.isZero()) db.putRestaurant(delta.applyTo(current));
+                });
+            }
+        });
+    }
+
+    // Write the user's new reaction and return the counter delta it implies (caller holds historyLock)
+    private CounterDelta upsertReaction(int userId, int restaurantId, int reaction) {
+        Map<Integer, UserHistory> rows = db.history.get(userId);
+        UserHistory existing = rows == null ? null : rows.get(restaurantId);
+        int oldScore = existing == null || existing.liked() == null ? 0 : Integer.signum(existing.liked());
+        int newScore = Integer.signum(reaction);
+        if (oldScore == newScore) return CounterDelta.ZERO;
+
+        int id = existing == null ? db.historyIds.incrementAndGet() : existing.id();
+        db.putHistory(new UserHistory(id, userId, restaurantId,
+                newScore == 0 ? null : newScore, LocalDateTime.now()));
+        return CounterDelta.forTransition(oldScore, newScore);
+    }
+}
@@ -0,0 +1,126 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Users held in InMemoryDatabase with username/email indexes
+final class InMemoryUserRepository implements UserRepository {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final InMemoryDatabase db;
+
+    InMemoryUserRepository(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<Integer> create(User user) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.userLock) {
+                checkUnique(user, -1);
+                int id = db.userIds.incrementAndGet();
+                db.users.put(id, new User(id, user.username(), user.email(), user.firstName(), user.lastName(),
+                        user.password(), user.isAdmin(), user.createdAt()));
+                db.userIdsByUsername.put(InMemoryDatabase.key(user.username()), id);
+                db.userIdsByEmail.put(InMemoryDatabase.key(user.email()), id);
+                return id;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findById(int id) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(db.users.get(id)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByUsername(String username) {
+        Integer id = db.userIdsByUsername.get(InMemoryDatabase.key(username));
+        return CompletableFuture.completedFuture(id == null ? Optional.empty() : Optional.ofNullable(db.users.get(id)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByEmail(String email) {
+        Integer id = db.userIdsByEmail.get(InMemoryDatabase.key(email));
+        return CompletableFuture.completedFuture(id == null ? Optional.empty() : Optional.ofNullable(db.users.get(id)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByCredentials(String username, String password) {
+        return findByUsername(username).thenApply(user -> user.filter(u -> u.password().equals(password)));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findAll() {
+        List<User> list = new ArrayList<>(db.users.values());
+        list.sort(Comparator.comparingInt(User::id));
+        return CompletableFuture.completedFuture(list);
+    }
+
+    @Override
+    public CompletableFuture<Page<User>> findPage(User after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int afterId = after == null ? 0 : after.id();
+        List<User> matches = db.users.values().stream()
+                .filter(u -> u.id() > afterId)
+                .sorted(Comparator.comparingInt(User::id))
+                .limit(size + 1L)
+                .toList();
+
+        boolean hasMore = matches.size() > size;
+        return CompletableFuture.completedFuture(new Page<>(hasMore ? List.copyOf(matches.subList(0, size)) : matches, hasMore));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(User user) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.userLock) {
+                User current = db.users.get(user.id());
+                if (current == null) return false;
+                checkUnique(user, user.id());
+
+                db.userIdsByUsername.remove(InMemoryDatabase.key(current.username()));
+                db.userIdsByEmail.remove(InMemoryDatabase.key(current.email()));
+                db.users.put(user.id(), new User(user.id(), user.username(), user.email(), user.firstName(),
+                        user.lastName(), user.password(), current.isAdmin(), current.createdAt()));
+                db.userIdsByUsername.put(InMemoryDatabase.key(user.username()), user.id());
+                db.userIdsByEmail.put(InMemoryDatabase.key(user.email()), user.id());
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(int id) {
+        return InMemoryDatabase.supply(() -> {
+            synchronized (db.userLock) {
+                User removed = db.users.remove(id);
+                if (removed == null) return false;
+                db.userIdsByUsername.remove(InMemoryDatabase.key(removed.username()));
+                db.userIdsByEmail.remove(InMemoryDatabase.key(removed.email()));
+            }
+            synchronized (db.historyLock) {
+                db.history.remove(id);
+                db.historyTimeline.remove(id);
+            }
+            return true;
+        });
+    }
+
+    // Mirror the unique keys on users.username and users.email (caller holds userLock)
+    private void checkUnique(User user, int selfId) {
+        Integer byName = db.userIdsByUsername.get(InMemoryDatabase.key(user.username()));
+        if (byName != null && byName != selfId)
+            throw new RuntimeException("Duplicate username: " + user.username());
+        Integer byEmail = db.userIdsByEmail.get(InMemoryDatabase.key(user.email()));
+        if (byEmail != null && byEmail != selfId)
+            throw new RuntimeException("Duplicate email: " + user.email());
+    }
+}
@@ -0,0 +1,54 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.dao.HistoryDAO;
+import com.idktogo.idk_to_go.model.HistoryEntry;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// MySQL-backed user history (delegates to HistoryDAO)
+final class JdbcHistoryRepository implements HistoryRepository {
+
+    @Override
+    public CompletableFuture<Void> upsertInteraction(int userId, int restaurantId, Integer likedValue) {
+        return HistoryDAO.upsertInteraction(userId, restaurantId, likedValue);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Integer>> getInteractionType(int userId, int restaurantId) {
+        return HistoryDAO.getInteractionType(userId, restaurantId);
+    }
+
+    @Override
+    public CompletableFuture<List<UserHistory>> listByUser(int userId) {
+        return HistoryDAO.listByUser(userId);
+    }
+
+    @Override
+    public CompletableFuture<Page<UserHistory>> listByUserPage(int userId, UserHistory after, int limit) {
+        return HistoryDAO.listByUserPage(userId, after, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<HistoryEntry>> listByUserWithRestaurants(int userId) {
+        return HistoryDAO.listByUserWithRestaurants(userId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteInteraction(int userId, int restaurantId) {
+        return HistoryDAO.deleteInteraction(userId, restaurantId);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteAllForUser(int userId) {
+        return HistoryDAO.deleteAllForUser(userId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllForAllUsers() {
+        return HistoryDAO.deleteAllForAllUsers();
+    }
+}
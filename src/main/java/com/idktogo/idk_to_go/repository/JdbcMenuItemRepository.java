@@ -0,0 +1,42 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.dao.MenuItemDAO;
+import com.idktogo.idk_to_go.model.MenuItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// MySQL-backed menu items (delegates to MenuItemDAO)
+final class JdbcMenuItemRepository implements MenuItemRepository {
+
+    @Override
+    public CompletableFuture<MenuItem> create(MenuItem item) {
+        return MenuItemDAO.create(item);
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> createAll(List<MenuItem> items) {
+        return MenuItemDAO.createAll(items);
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> listByRestaurant(int restaurantId) {
+        return MenuItemDAO.listByRestaurant(restaurantId);
+    }
+
+    @Override
+    public CompletableFuture<Long> streamAll(Consumer<? super MenuItem> consumer) {
+        return MenuItemDAO.streamAll(consumer);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(MenuItem item) {
+        return MenuItemDAO.update(item);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(int id) {
+        return MenuItemDAO.delete(id);
+    }
+}
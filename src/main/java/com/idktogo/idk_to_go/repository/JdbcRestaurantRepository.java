@@ -0,0 +1,93 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.model.CounterDelta;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.ReactionResult;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// MySQL-backed restaurants (delegates to RestaurantDAO)
+final class JdbcRestaurantRepository implements RestaurantRepository {
+
+    @Override
+    public CompletableFuture<Void> create(Restaurant restaurant) {
+        return RestaurantDAO.create(restaurant);
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> createAll(List<Restaurant> restaurants) {
+        return RestaurantDAO.createAll(restaurants);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Restaurant>> findById(int id) {
+        return RestaurantDAO.findById(id);
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Restaurant>> findByIds(Collection<Integer> ids) {
+        return RestaurantDAO.findByIds(ids);
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> listAll() {
+        return RestaurantDAO.listAll();
+    }
+
+    @Override
+    public CompletableFuture<Page<Restaurant>> listPage(Restaurant after, int limit) {
+        return RestaurantDAO.listPage(after, limit);
+    }
+
+    @Override
+    public CompletableFuture<Long> streamAll(Consumer<? super Restaurant> consumer) {
+        return RestaurantDAO.streamAll(consumer);
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit) {
+        return RestaurantDAO.topByWeeklyLikes(limit);
+    }
+
+    @Override
+    public CompletableFuture<List<Restaurant>> topByNetScore() {
+        return RestaurantDAO.topByNetScore();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(Restaurant restaurant) {
+        return RestaurantDAO.update(restaurant);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(int id) {
+        return RestaurantDAO.delete(id);
+    }
+
+    @Override
+    public CompletableFuture<Void> resetWeeklyLikes() {
+        return RestaurantDAO.resetWeeklyLikes();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Restaurant>> applyReaction(int userId, int restaurantId, int reaction) {
+        return RestaurantDAO.applyReaction(userId, restaurantId, reaction);
+    }
+
+    @Override
+    public CompletableFuture<Optional<ReactionResult>> recordReaction(int userId, int restaurantId, int reaction) {
+        return RestaurantDAO.recordReaction(userId, restaurantId, reaction);
+    }
+
+    @Override
+    public CompletableFuture<Void> applyCounterDeltas(Map<Integer, CounterDelta> deltas) {
+        return RestaurantDAO.applyCounterDeltas(deltas);
+    }
+}
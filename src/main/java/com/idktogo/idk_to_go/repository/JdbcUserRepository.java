@@ -0,0 +1,58 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.dao.UserDAO;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// MySQL-backed users (delegates to UserDAO)
+final class JdbcUserRepository implements UserRepository {
+
+    @Override
+    public CompletableFuture<Integer> create(User user) {
+        return UserDAO.create(user);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findById(int id) {
+        return UserDAO.findById(id);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByUsername(String username) {
+        return UserDAO.findByUsername(username);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByEmail(String email) {
+        return UserDAO.findByEmail(email);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByCredentials(String username, String password) {
+        return UserDAO.findByCredentials(username, password);
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findAll() {
+        return UserDAO.findAll();
+    }
+
+    @Override
+    public CompletableFuture<Page<User>> findPage(User after, int limit) {
+        return UserDAO.findPage(after, limit);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(User user) {
+        return UserDAO.update(user);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(int id) {
+        return UserDAO.delete(id);
+    }
+}
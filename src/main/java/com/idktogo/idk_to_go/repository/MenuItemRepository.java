@@ -0,0 +1,29 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Storage for restaurant menu items.
+ */
+public interface MenuItemRepository {
+
+    // Returns the item with its generated ID
+    CompletableFuture<MenuItem> create(MenuItem item);
+
+    // Insert all rows in one transaction; returns them with their generated IDs, in input order
+    CompletableFuture<List<MenuItem>> createAll(List<MenuItem> items);
+
+    // Items for one restaurant ordered by name
+    CompletableFuture<List<MenuItem>> listByRestaurant(int restaurantId);
+
+    // Every item grouped by restaurant; returns the number of rows delivered
+    CompletableFuture<Long> streamAll(Consumer<? super MenuItem> consumer);
+
+    CompletableFuture<Boolean> update(MenuItem item);
+
+    CompletableFuture<Boolean> delete(int id);
+}
@@ -0,0 +1,92 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.User;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Entry point to the storage backend used by the services.
+ * The backend is chosen once from "storage.backend" ("jdbc", the default, or "memory");
+ * {@link #use(Backend)} switches it explicitly, e.g. for benchmarks or offline runs.
+ * The in-memory backend starts empty apart from an "admin" account whose password is
+ * "storage.memory.adminPassword" (set it to blank to skip).
+ */
+public final class Repositories {
+
+    public enum Backend { JDBC, MEMORY }
+
+    private record Bundle(Backend backend, RestaurantRepository restaurants, UserRepository users,
+                          MenuItemRepository menuItems, HistoryRepository history) {}
+
+    private static volatile Bundle bundle;
+
+    private Repositories() {}
+
+    public static RestaurantRepository restaurants() {
+        return bundle().restaurants();
+    }
+
+    public static UserRepository users() {
+        return bundle().users();
+    }
+
+    public static MenuItemRepository menuItems() {
+        return bundle().menuItems();
+    }
+
+    public static HistoryRepository history() {
+        return bundle().history();
+    }
+
+    public static Backend backend() {
+        return bundle().backend();
+    }
+
+    // Switch backends; the in-memory backend always starts from a fresh database
+    public static synchronized void use(Backend backend) {
+        bundle = create(backend);
+        System.out.println("Storage backend: " + backend.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static Bundle bundle() {
+        Bundle current = bundle;
+        if (current != null) return current;
+
+        synchronized (Repositories.class) {
+            if (bundle == null) use(configuredBackend());
+            return bundle;
+        }
+    }
+
+    private static Backend configuredBackend() {
+        String name = AppConfig.getString("storage.backend", "jdbc").trim();
+        try {
+            return Backend.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage.backend '" + name + "', using jdbc");
+            return Backend.JDBC;
+        }
+    }
+
+    private static Bundle create(Backend backend) {
+        if (backend == Backend.JDBC) {
+            return new Bundle(backend, new JdbcRestaurantRepository(), new JdbcUserRepository(),
+                    new JdbcMenuItemRepository(), new JdbcHistoryRepository());
+        }
+
+        InMemoryDatabase db = new InMemoryDatabase();
+        UserRepository users = new InMemoryUserRepository(db);
+
+        String adminPassword = AppConfig.getString("storage.memory.adminPassword", "admin");
+        if (!adminPassword.isBlank()) {
+            users.create(new User(0, "admin", "admin@localhost", "Admin", "", adminPassword, true,
+                    Timestamp.from(Instant.now()))).join();
+        }
+
+        return new Bundle(backend, new InMemoryRestaurantRepository(db), users,
+                new InMemoryMenuItemRepository(db), new InMemoryHistoryRepository(db));
+    }
+}
@@ -0,0 +1,58 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.CounterDelta;
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.ReactionResult;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Storage for the restaurant catalog and its reaction counters.
+ * Listing order matches the JDBC backend: by name for full listings, by weeklyLikes / netScore
+ * (highest first) for rankings.
+ */
+public interface RestaurantRepository {
+
+    CompletableFuture<Void> create(Restaurant restaurant);
+
+    // Insert all rows in one transaction; returns them with their generated IDs, in input order
+    CompletableFuture<List<Restaurant>> createAll(List<Restaurant> restaurants);
+
+    CompletableFuture<Optional<Restaurant>> findById(int id);
+
+    // Restaurants keyed by ID; missing IDs are absent from the result
+    CompletableFuture<Map<Integer, Restaurant>> findByIds(Collection<Integer> ids);
+
+    CompletableFuture<List<Restaurant>> listAll();
+
+    // Keyset page ordered by (name, id); after is the last row of the previous page or null
+    CompletableFuture<Page<Restaurant>> listPage(Restaurant after, int limit);
+
+    // Visit every restaurant by name without materializing the list; completes with the row count
+    CompletableFuture<Long> streamAll(Consumer<? super Restaurant> consumer);
+
+    CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit);
+
+    CompletableFuture<List<Restaurant>> topByNetScore();
+
+    // Updates name, category, location and logo; counters are left alone
+    CompletableFuture<Boolean> update(Restaurant restaurant);
+
+    CompletableFuture<Void> delete(int id);
+
+    CompletableFuture<Void> resetWeeklyLikes();
+
+    // Record a reaction (1, -1 or 0) and apply its counter delta atomically
+    CompletableFuture<Optional<Restaurant>> applyReaction(int userId, int restaurantId, int reaction);
+
+    // Record a reaction and return the delta for the caller to apply later
+    CompletableFuture<Optional<ReactionResult>> recordReaction(int userId, int restaurantId, int reaction);
+
+    CompletableFuture<Void> applyCounterDeltas(Map<Integer, CounterDelta> deltas);
+}
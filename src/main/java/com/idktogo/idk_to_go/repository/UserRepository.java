@@ -0,0 +1,34 @@
+package com.idktogo.idk_to_go.repository;
+
+import com.idktogo.idk_to_go.model.Page;
+import com.idktogo.idk_to_go.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for user accounts.
+ */
+public interface UserRepository {
+
+    // Returns the generated user ID
+    CompletableFuture<Integer> create(User user);
+
+    CompletableFuture<Optional<User>> findById(int id);
+
+    CompletableFuture<Optional<User>> findByUsername(String username);
+
+    CompletableFuture<Optional<User>> findByEmail(String email);
+
+    CompletableFuture<Optional<User>> findByCredentials(String username, String password);
+
+    CompletableFuture<List<User>> findAll();
+
+    // Keyset page ordered by id; after is the last user of the previous page or null
+    CompletableFuture<Page<User>> findPage(User after, int limit);
+
+    CompletableFuture<Boolean> update(User user);
+
+    CompletableFuture<Boolean> delete(int id);
+}
@@ -0,0 +1,178 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.UserHistory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Picks the restaurants worth offering to the model for a set of quiz answers, so the
+ * recommendation prompt lists "recommendation.topK" candidates instead of the whole catalog.
+ * Restaurants are scored locally on:
+ * <ul>
+ *   <li>answer words that appear in their category or name,</li>
+ *   <li>answer words that usually point at their category (e.g. "spicy" to Mexican or wings),</li>
+ *   <li>popularity (netScore and weeklyLikes, relative to the rest of the catalog),</li>
+ *   <li>the user's own likes and dislikes, including liked categories.</li>
+ * </ul>
+ */
+public final class CandidateRanker {
+
+    private static final double DIRECT_MATCH = 3.0;
+    private static final double KEYWORD_MATCH = 2.0;
+    private static final double POPULARITY = 1.5;
+    private static final double LIKED = 2.0;
+    private static final double DISLIKED = -3.0;
+    private static final double LIKED_CATEGORY = 1.0;
+
+    // Answer words and the category words they tend to mean
+    private static final Map<String, Set<String>> KEYWORDS = Map.ofEntries(
+            Map.entry("spicy", Set.of("mexican", "wings", "indian", "thai", "halal", "tex-mex")),
+            Map.entry("hot", Set.of("mexican", "wings", "indian", "thai")),
+            Map.entry("cheesy", Set.of("pizza", "mexican", "italian")),
+            Map.entry("crispy", Set.of("chicken", "wings", "fried")),
+            Map.entry("crunchy", Set.of("chicken", "wings", "fried", "mexican")),
+            Map.entry("fried", Set.of("chicken", "wings")),
+            Map.entry("healthy", Set.of("mediterranean", "salad", "bowls", "greek")),
+            Map.entry("fresh", Set.of("mediterranean", "salad", "bowls", "sandwiches")),
+            Map.entry("light", Set.of("mediterranean", "salad", "sandwiches", "cafe")),
+            Map.entry("hearty", Set.of("bbq", "steakhouse", "burgers", "italian")),
+            Map.entry("meaty", Set.of("bbq", "steakhouse", "burgers")),
+            Map.entry("comfort", Set.of("bbq", "pizza", "burgers", "italian", "chicken")),
+            Map.entry("cozy", Set.of("italian", "cafe", "bakery", "pizza")),
+            Map.entry("adventurous", Set.of("asian", "mediterranean", "halal", "indian", "thai")),
+            Map.entry("exotic", Set.of("asian", "mediterranean", "halal", "indian", "thai")),
+            Map.entry("quick", Set.of("fast", "sandwiches", "burgers", "pizza")),
+            Map.entry("sweet", Set.of("dessert", "bakery", "cafe")),
+            Map.entry("saucy", Set.of("wings", "bbq", "italian", "asian")),
+            Map.entry("noodles", Set.of("asian", "italian")),
+            Map.entry("bread", Set.of("sandwiches", "bakery", "pizza")),
+            Map.entry("fancy", Set.of("steakhouse", "italian")),
+            Map.entry("cheap", Set.of("fast", "pizza", "mexican"))
+    );
+
+    private static final LongAdder RANKINGS = new LongAdder();
+    private static final LongAdder FULL_PROMPT_CHARS = new LongAdder();
+    private static final LongAdder SENT_PROMPT_CHARS = new LongAdder();
+
+    private CandidateRanker() {}
+
+    /**
+     * Prompt-size counters since startup (restaurant list only).
+     */
+    public record Stats(long rankings, long fullChars, long sentChars) {
+        public double savedFraction() {
+            return fullChars == 0 ? 0 : 1.0 - (double) sentChars / fullChars;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rankings=%d, listChars=%d of %d (saved %.0f%%)",
+                    rankings, sentChars, fullChars, savedFraction() * 100);
+        }
+    }
+
+    // Number of candidates to offer the model
+    public static int topK() {
+        return Math.max(1, AppConfig.getInt("recommendation.topK", 12));
+    }
+
+    /**
+     * Ranks the restaurants for these answers and returns the best {@link #topK()}, best first.
+     * @param history The user's reactions (may be empty).
+     */
+    public static List<Restaurant> rank(Map<String, String> answers, List<Restaurant> restaurants, List<UserHistory> history) {
+        Set<String> words = new HashSet<>();
+        answers.values().forEach(answer -> words.addAll(words(answer)));
+
+        Map<Integer, Integer> reactions = new HashMap<>();
+        for (UserHistory h : history) {
+            if (h.liked() != null) reactions.putIfAbsent(h.restaurantId(), h.liked());
+        }
+        Set<String> likedCategories = new HashSet<>();
+        for (Restaurant r : restaurants) {
+            if (Integer.valueOf(1).equals(reactions.get(r.id()))) likedCategories.add(normalize(r.category()));
+        }
+
+        int maxNet = restaurants.stream().mapToInt(Restaurant::netScore).max().orElse(0);
+        int minNet = restaurants.stream().mapToInt(Restaurant::netScore).min().orElse(0);
+        int maxWeekly = restaurants.stream().mapToInt(Restaurant::weeklyLikes).max().orElse(0);
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Restaurant r : restaurants) {
+            Set<String> categoryWords = words(r.category());
+            Set<String> nameWords = words(r.name());
+
+            double score = 0;
+            for (String word : words) {
+                if (categoryWords.contains(word) || nameWords.contains(word)) score += DIRECT_MATCH;
+                Set<String> meant = KEYWORDS.get(word);
+                if (meant != null && containsAny(categoryWords, meant)) score += KEYWORD_MATCH;
+            }
+
+            double net = maxNet == minNet ? 0 : (double) (r.netScore() - minNet) / (maxNet - minNet);
+            double weekly = maxWeekly <= 0 ? 0 : (double) Math.max(0, r.weeklyLikes()) / maxWeekly;
+            score += POPULARITY * (net + weekly) / 2;
+
+            Integer reaction = reactions.get(r.id());
+            if (reaction != null && reaction > 0) score += LIKED;
+            else if (reaction != null && reaction < 0) score += DISLIKED;
+            if (likedCategories.contains(normalize(r.category()))) score += LIKED_CATEGORY;
+
+            scores.put(r.id(), score);
+        }
+
+        return restaurants.stream()
+                .sorted(Comparator.comparingDouble((Restaurant r) -> scores.get(r.id())).reversed()
+                        .thenComparingInt(Restaurant::id))
+                .limit(topK())
+                .toList();
+    }
+
+    // Count a ranking's prompt savings (reported through stats())
+    static void recordPromptSize(int sentChars, int fullChars) {
+        RANKINGS.increment();
+        SENT_PROMPT_CHARS.add(sentChars);
+        FULL_PROMPT_CHARS.add(fullChars);
+    }
+
+    // Get the prompt-size counters
+    public static Stats stats() {
+        return new Stats(RANKINGS.sum(), FULL_PROMPT_CHARS.sum(), SENT_PROMPT_CHARS.sum());
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        if (text == null) return words;
+        Arrays.stream(normalize(text).split("[^a-z0-9-]+"))
+                .filter(word -> word.length() >= 3)
+                .forEach(word -> {
+                    words.add(word);
+                    // Plurals match their singular ("burgers" / "burger")
+                    if (word.endsWith("s")) words.add(word.substring(0, word.length() - 1));
+                    else words.add(word + "s");
+                });
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsAny(Set<String> words, Collection<String> wanted) {
+        for (String w : wanted) {
+            if (words.contains(w)) return true;
+        }
+        return false;
+    }
+}
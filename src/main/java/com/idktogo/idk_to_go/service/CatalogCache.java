@@ -0,0 +1,163 @@
+package com.idktogo.idk_to_go.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the restaurant catalog (full list, top-K rankings and single rows).
+ * Entries expire after "catalog.ttlSeconds" and the per-ID cache holds at most
+ * "catalog.maxEntries" restaurants. Loads are cached as futures, so concurrent misses
+ * for the same key share one query; failed loads are dropped immediately.
+ * Callers invalidate on writes through {@link RestaurantService}; every write bumps a version
+ * so data loaded before the write (e.g. a startup snapshot) is not cached over it.
+ */
+public final class CatalogCache {
+
+    private static final String ALL = "all";
+    private static final String TOP_NET = "top:net";
+    private static final String TOP_WEEKLY = "top:weekly:";
+
+    private static final Cache<String, CompletableFuture<List<Restaurant>>> LISTS = CacheBuilder.newBuilder()
+            .expireAfterWrite(ttl())
+            .maximumSize(64)
+            .recordStats()
+            .build();
+
+    private static final Cache<Integer, CompletableFuture<Optional<Restaurant>>> BY_ID = CacheBuilder.newBuilder()
+            .expireAfterWrite(ttl())
+            .maximumSize(Math.max(1, AppConfig.getInt("catalog.maxEntries", 1_000)))
+            .recordStats()
+            .build();
+
+    private static final AtomicLong WRITE_VERSION = new AtomicLong();
+
+    private CatalogCache() {}
+
+    /**
+     * Combined hit/miss counters for the list and per-ID caches.
+     */
+    public record Stats(long hits, long misses, long evictions, long size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 1.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.2f, evictions=%d, size=%d",
+                    hits, misses, hitRate(), evictions, size);
+        }
+    }
+
+    static CompletableFuture<List<Restaurant>> all(Supplier<CompletableFuture<List<Restaurant>>> loader) {
+        return getOrLoad(LISTS, ALL, () -> {
+            long versionAtLoad = version();
+            return loader.get().thenApply(list -> {
+                List<Restaurant> copy = List.copyOf(list);
+                // The full list also answers ID lookups, unless a write made it stale while it was loading
+                synchronized (CatalogCache.class) {
+                    if (WRITE_VERSION.get() == versionAtLoad) {
+                        copy.forEach(r -> BY_ID.put(r.id(), CompletableFuture.completedFuture(Optional.of(r))));
+                    }
+                }
+                return copy;
+            });
+        });
+    }
+
+    static CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit, Supplier<CompletableFuture<List<Restaurant>>> loader) {
+        return getOrLoad(LISTS, TOP_WEEKLY + limit, () -> loader.get().thenApply(List::copyOf));
+    }
+
+    static CompletableFuture<List<Restaurant>> topByNetScore(Supplier<CompletableFuture<List<Restaurant>>> loader) {
+        return getOrLoad(LISTS, TOP_NET, () -> loader.get().thenApply(List::copyOf));
+    }
+
+    static CompletableFuture<Optional<Restaurant>> byId(int id, Supplier<CompletableFuture<Optional<Restaurant>>> loader) {
+        return getOrLoad(BY_ID, id, loader);
+    }
+
+    // Get a token to pass to seedIfUnchanged before starting a load
+    static long version() {
+        return WRITE_VERSION.get();
+    }
+
+    // Cache a full catalog loaded elsewhere unless a write happened while it was loading
+    static void seedIfUnchanged(List<Restaurant> restaurants, long versionAtLoad) {
+        List<Restaurant> copy = List.copyOf(restaurants);
+        synchronized (CatalogCache.class) {
+            if (WRITE_VERSION.get() != versionAtLoad) return;
+            copy.forEach(r -> BY_ID.put(r.id(), CompletableFuture.completedFuture(Optional.of(r))));
+            LISTS.invalidateAll();
+            LISTS.put(ALL, CompletableFuture.completedFuture(copy));
+        }
+    }
+
+    // Replace a single cached row (e.g. after an update that returned the new state)
+    static void put(Restaurant restaurant) {
+        synchronized (CatalogCache.class) {
+            WRITE_VERSION.incrementAndGet();
+            BY_ID.put(restaurant.id(), CompletableFuture.completedFuture(Optional.of(restaurant)));
+            LISTS.invalidateAll();
+        }
+    }
+
+    // Drop the given rows and every list/ranking that may contain them
+    static void invalidate(Collection<Integer> ids) {
+        synchronized (CatalogCache.class) {
+            WRITE_VERSION.incrementAndGet();
+            BY_ID.invalidateAll(ids);
+            LISTS.invalidateAll();
+        }
+    }
+
+    // Drop everything (catalog membership changed)
+    static void invalidateAll() {
+        synchronized (CatalogCache.class) {
+            WRITE_VERSION.incrementAndGet();
+            BY_ID.invalidateAll();
+            LISTS.invalidateAll();
+        }
+    }
+
+    // Get the combined hit/miss counters
+    public static Stats stats() {
+        CacheStats lists = LISTS.stats();
+        CacheStats rows = BY_ID.stats();
+        return new Stats(
+                lists.hitCount() + rows.hitCount(),
+                lists.missCount() + rows.missCount(),
+                lists.evictionCount() + rows.evictionCount(),
+                LISTS.size() + BY_ID.size()
+        );
+    }
+
+    private static <K, V> CompletableFuture<V> getOrLoad(Cache<K, CompletableFuture<V>> cache, K key,
+                                                         Supplier<CompletableFuture<V>> loader) {
+        try {
+            CompletableFuture<V> future = cache.get(key, loader::get);
+            future.whenComplete((v, ex) -> {
+                if (ex != null) cache.asMap().remove(key, future);
+            });
+            return future;
+        } catch (ExecutionException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    private static Duration ttl() {
+        return Duration.ofSeconds(Math.max(1, AppConfig.getLong("catalog.ttlSeconds", 60)));
+    }
+}
@@ -0,0 +1,347 @@
+package com.idktogo.idk_to_go.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Streams restaurants and menu items from a CSV or JSON file into the catalog.
+ * The file is read incrementally; valid rows are written in batches of "import.batchSize",
+ * each batch in its own transaction, so memory use does not grow with the file.
+ * Restaurant names are deduplicated case-insensitively against the catalog and the file itself.
+ *
+ * CSV needs a header row with the columns name, category, location, logo, item and price.
+ * A row without an item adds a restaurant; a row with an item adds that menu item to the
+ * restaurant called name. JSON is an array of {"name", "category", "location", "logo",
+ * "menu": [{"item", "price"}]} objects.
+ */
+public final class CatalogImporter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private CatalogImporter() {}
+
+    /**
+     * Progress so far; bytesRead is approximate because the reader buffers ahead.
+     */
+    public record Progress(long bytesRead, long totalBytes, int restaurants, int menuItems, int skipped) {
+        public double fraction() {
+            return totalBytes <= 0 ? 0.0 : Math.min(1.0, (double) bytesRead / totalBytes);
+        }
+    }
+
+    /**
+     * Outcome of an import; errors holds the first "import.maxErrors" problems with their line numbers.
+     */
+    public record Report(int restaurants, int menuItems, int duplicates, int invalid, List<String> errors) {
+        @Override
+        public String toString() {
+            return restaurants + " restaurants and " + menuItems + " menu items imported, "
+                    + duplicates + " duplicate restaurants skipped, " + invalid + " invalid rows";
+        }
+    }
+
+    // Import a .csv or .json file in the background, reporting progress after every batch.
+    // Not on AppExecutors.db(): the import waits on DAO calls that need DB permits themselves.
+    public static CompletableFuture<Report> importFile(Path file, Consumer<Progress> onProgress) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return run(file, onProgress);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, AppExecutors.background());
+    }
+
+    private static Report run(Path file, Consumer<Progress> onProgress) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = fileName.endsWith(".json");
+        if (!json && !fileName.endsWith(".csv")) {
+            throw new IllegalArgumentException("Unsupported file type (expected .csv or .json): " + file.getFileName());
+        }
+
+        Map<String, Integer> existing = new HashMap<>();
+        for (Restaurant r : RestaurantService.listAll().join()) existing.put(key(r.name()), r.id());
+
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file))) {
+            Batch batch = new Batch(existing, in, Files.size(file), onProgress);
+            if (json) readJson(in, batch);
+            else readCsv(in, batch);
+            batch.flush();
+            return batch.report();
+        }
+    }
+
+    private static void readCsv(InputStream in, Batch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) return;
+        List<String> header = parseCsv(headerLine.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        if (!columns.containsKey("name")) throw new IllegalArgumentException("CSV header must include a 'name' column");
+
+        int lineNo = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int rowLine = ++lineNo;
+
+            // A quoted field may run over several lines
+            while (openQuotes(line)) {
+                String next = reader.readLine();
+                if (next == null) break;
+                line = line + "\n" + next;
+                lineNo++;
+            }
+            if (line.isBlank()) continue;
+
+            List<String> row = parseCsv(line);
+            String item = column(row, columns, "item");
+            if (item.isEmpty()) {
+                batch.addRestaurant(rowLine, column(row, columns, "name"), column(row, columns, "category"),
+                        column(row, columns, "location"), column(row, columns, "logo"));
+            } else {
+                batch.addMenuItem(rowLine, column(row, columns, "name"), item, column(row, columns, "price"));
+            }
+        }
+    }
+
+    private static void readJson(InputStream in, Batch batch) throws IOException {
+        try (JsonParser parser = JSON.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of restaurants");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int line = parser.currentLocation().getLineNr();
+                Map<String, String> fields = new HashMap<>();
+                List<String[]> menu = new ArrayList<>();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("menu".equals(field) && value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            Map<String, String> item = readFlatObject(parser);
+                            menu.add(new String[]{item.getOrDefault("item", item.getOrDefault("name", "")),
+                                    item.getOrDefault("price", "")});
+                        }
+                    } else if (value.isScalarValue()) {
+                        fields.put(field, parser.getValueAsString(""));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+
+                String name = fields.getOrDefault("name", "");
+                batch.addRestaurant(line, name, fields.getOrDefault("category", ""),
+                        fields.getOrDefault("location", ""), fields.getOrDefault("logo", ""));
+                for (String[] item : menu) batch.addMenuItem(line, name, item[0], item[1]);
+            }
+        }
+    }
+
+    // Read the scalar fields of the current object (nested values are skipped)
+    private static Map<String, String> readFlatObject(JsonParser parser) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue()) fields.put(field, parser.getValueAsString(""));
+            else parser.skipChildren();
+        }
+        return fields;
+    }
+
+    // Split one CSV record, honouring quoted fields and doubled quotes
+    static List<String> parseCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static boolean openQuotes(String line) {
+        return line.chars().filter(c -> c == '"').count() % 2 == 1;
+    }
+
+    private static String column(List<String> row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= row.size() ? "" : row.get(index).trim();
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Buffers validated rows and writes them once a batch is full
+    private static final class Batch {
+        private final int batchSize = Math.max(1, AppConfig.getInt("import.batchSize", 500));
+        private final int maxErrors = Math.max(0, AppConfig.getInt("import.maxErrors", 50));
+
+        private final Map<String, Integer> idsByName;
+        private final CountingInputStream in;
+        private final long totalBytes;
+        private final Consumer<Progress> onProgress;
+
+        private final Map<String, Restaurant> pendingRestaurants = new LinkedHashMap<>();
+        private final List<PendingItem> pendingItems = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int restaurants;
+        private int menuItems;
+        private int duplicates;
+        private int invalid;
+
+        private record PendingItem(String restaurantKey, String name, double price) {}
+
+        Batch(Map<String, Integer> idsByName, CountingInputStream in, long totalBytes, Consumer<Progress> onProgress) {
+            this.idsByName = idsByName;
+            this.in = in;
+            this.totalBytes = totalBytes;
+            this.onProgress = onProgress;
+        }
+
+        void addRestaurant(int line, String name, String category, String location, String logo) {
+            if (name.isBlank() || logo.isBlank()) {
+                reject(line, "restaurant needs a name and a logo");
+                return;
+            }
+
+            String key = key(name);
+            if (idsByName.containsKey(key) || pendingRestaurants.containsKey(key)) {
+                duplicates++;
+                return;
+            }
+
+            pendingRestaurants.put(key, new Restaurant(0, name.trim(), category, location, 0, 0, 0, 0, logo));
+            if (pendingRestaurants.size() >= batchSize) flush();
+        }
+
+        void addMenuItem(int line, String restaurantName, String item, String priceText) {
+            String key = key(restaurantName);
+            if (!idsByName.containsKey(key) && !pendingRestaurants.containsKey(key)) {
+                reject(line, "unknown restaurant '" + restaurantName + "'");
+                return;
+            }
+            if (item.isBlank()) {
+                reject(line, "menu item needs a name");
+                return;
+            }
+
+            double price;
+            try {
+                price = Double.parseDouble(priceText.replace("$", "").trim());
+            } catch (NumberFormatException e) {
+                reject(line, "invalid price '" + priceText + "'");
+                return;
+            }
+            if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+                reject(line, "invalid price '" + priceText + "'");
+                return;
+            }
+
+            pendingItems.add(new PendingItem(key, item.trim(), price));
+            if (pendingItems.size() >= batchSize) flush();
+        }
+
+        // Write pending restaurants first so their new IDs are known to the pending menu items
+        void flush() {
+            if (!pendingRestaurants.isEmpty()) {
+                List<Restaurant> created = RestaurantService.createAll(List.copyOf(pendingRestaurants.values())).join();
+                for (Restaurant r : created) idsByName.put(key(r.name()), r.id());
+                restaurants += created.size();
+                pendingRestaurants.clear();
+            }
+
+            if (!pendingItems.isEmpty()) {
+                List<MenuItem> items = pendingItems.stream()
+                        .map(p -> new MenuItem(0, idsByName.get(p.restaurantKey()), p.name(), p.price()))
+                        .toList();
+                menuItems += MenuService.createAll(items).join().size();
+                pendingItems.clear();
+            }
+
+            onProgress.accept(new Progress(in.count(), totalBytes, restaurants, menuItems, duplicates + invalid));
+        }
+
+        Report report() {
+            return new Report(restaurants, menuItems, duplicates, invalid, List.copyOf(errors));
+        }
+
+        private void reject(int line, String reason) {
+            invalid++;
+            if (errors.size() < maxErrors) errors.add("Line " + line + ": " + reason);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
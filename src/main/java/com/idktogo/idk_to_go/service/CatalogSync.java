@@ -0,0 +1,75 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+import com.idktogo.idk_to_go.data.CatalogSnapshot;
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.repository.Repositories;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Seeds the catalog and menu caches from the local {@link CatalogSnapshot} at launch, so the
+ * first screens render without waiting on the database, then reconciles against the database
+ * in the background and writes a fresh snapshot. The snapshot is only used with the JDBC
+ * backend and when "catalog.snapshot.enabled" is true (the default).
+ */
+public final class CatalogSync {
+
+    private CatalogSync() {}
+
+    // Seed the caches from the local snapshot in the background; decoding a large catalog is too slow
+    // for the FX thread. Screens that read the catalog before this finishes go to the database.
+    public static CompletableFuture<Void> loadSnapshot() {
+        return CompletableFuture.runAsync(() -> {
+            if (!isSnapshotEnabled()) return;
+
+            long catalogVersion = CatalogCache.version();
+            long menuVersion = MenuCache.version();
+            CatalogSnapshot.load().ifPresent(snapshot -> {
+                seed(snapshot.restaurants(), snapshot.menuItems(), catalogVersion, menuVersion);
+                long ageSeconds = (System.currentTimeMillis() - snapshot.savedAtMillis()) / 1000;
+                System.out.println("Catalog snapshot loaded: " + snapshot.restaurants().size() + " restaurants, "
+                        + snapshot.menuItems().size() + " menu items (" + ageSeconds + "s old)");
+            });
+        }, AppExecutors.background());
+    }
+
+    // Replace the cached catalog and menus with the database contents and save them as the new snapshot.
+    // Run it after loadSnapshot() has finished, or the older snapshot could be seeded over the result.
+    public static CompletableFuture<Void> reconcile() {
+        long catalogVersion = CatalogCache.version();
+        long menuVersion = MenuCache.version();
+
+        List<MenuItem> items = new ArrayList<>();
+        CompletableFuture<List<Restaurant>> restaurants = Repositories.restaurants().listAll();
+        CompletableFuture<Long> menus = Repositories.menuItems().streamAll(items::add);
+
+        return restaurants.thenCombine(menus, (list, count) -> {
+            seed(list, items, catalogVersion, menuVersion);
+            if (isSnapshotEnabled()) CatalogSnapshot.save(list, items);
+            return null;
+        });
+    }
+
+    private static boolean isSnapshotEnabled() {
+        return AppConfig.getBoolean("catalog.snapshot.enabled", true)
+                && Repositories.backend() == Repositories.Backend.JDBC;
+    }
+
+    // Every restaurant gets a cached menu, empty if it has no items; writes since the versions were taken win
+    private static void seed(List<Restaurant> restaurants, List<MenuItem> items, long catalogVersion, long menuVersion) {
+        CatalogCache.seedIfUnchanged(restaurants, catalogVersion);
+
+        Map<Integer, List<MenuItem>> byRestaurant = new HashMap<>();
+        for (MenuItem item : items) byRestaurant.computeIfAbsent(item.restaurantId(), k -> new ArrayList<>()).add(item);
+        for (Restaurant r : restaurants) {
+            MenuCache.putIfUnchanged(r.id(), byRestaurant.getOrDefault(r.id(), List.of()), menuVersion);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.CounterDelta;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.repository.Repositories;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for restaurant like/dislike/netScore/weeklyLikes counters.
+ * Reactions merge their deltas into a per-restaurant entry (ConcurrentHashMap bins act as
+ * lock stripes), and a background task flushes all pending deltas as one JDBC batch at least
+ * every "counters.flushIntervalMillis", which bounds how stale the database can be.
+ * If a flush fails the deltas are kept in memory and mirrored to data/counter_backlog.properties,
+ * which is replayed on the next start.
+ */
+public final class CounterAggregator {
+
+    private static final Path BACKLOG_FILE = Paths.get("data", "counter_backlog.properties");
+
+    private static final ConcurrentHashMap<Integer, CounterDelta> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicBoolean FLUSH_REQUESTED = new AtomicBoolean();
+    private static final Object FLUSH_LOCK = new Object();
+
+    private static ScheduledExecutorService scheduler;
+    private static ScheduledFuture<?> flushTask;
+
+    private CounterAggregator() {}
+
+    // Whether reactions should go through the write-behind buffer
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("counters.writeBehind", true);
+    }
+
+    // Get the maximum time a delta may sit in memory before it is flushed
+    public static long flushIntervalMillis() {
+        return Math.max(100, AppConfig.getLong("counters.flushIntervalMillis", 2_000));
+    }
+
+    // Start the periodic flusher and replay any backlog left by a failed flush
+    public static synchronized void start() {
+        if (scheduler != null) return;
+
+        loadBacklog();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "counter-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = flushIntervalMillis();
+        flushTask = scheduler.scheduleWithFixedDelay(CounterAggregator::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Flush everything and stop the flusher; unflushed deltas stay in the backlog file
+    public static void shutdown() {
+        ScheduledExecutorService s;
+        synchronized (CounterAggregator.class) {
+            if (scheduler == null) return;
+            s = scheduler;
+            flushTask.cancel(false);
+            scheduler = null;
+        }
+        s.shutdown();
+        try {
+            s.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    // Add a delta for a restaurant
+    public static void record(int restaurantId, CounterDelta delta) {
+        if (delta.isZero()) return;
+        PENDING.merge(restaurantId, delta, CounterDelta::plus);
+
+        // Flush early when many restaurants are dirty instead of waiting for the timer
+        int maxPending = AppConfig.getInt("counters.maxPendingRestaurants", 500);
+        if (PENDING.size() >= maxPending && FLUSH_REQUESTED.compareAndSet(false, true)) {
+            ScheduledExecutorService s = scheduler;
+            if (s != null) s.execute(CounterAggregator::flushQuietly);
+            else FLUSH_REQUESTED.set(false);
+        }
+    }
+
+    // Get the not-yet-flushed delta for a restaurant
+    public static CounterDelta pending(int restaurantId) {
+        return PENDING.getOrDefault(restaurantId, CounterDelta.ZERO);
+    }
+
+    // Apply any unflushed delta so callers see their own writes
+    public static Restaurant overlay(Restaurant restaurant) {
+        return pending(restaurant.id()).applyTo(restaurant);
+    }
+
+    // Get the number of restaurants with unflushed deltas
+    public static int pendingCount() {
+        return PENDING.size();
+    }
+
+    /**
+     * Writes all pending deltas to the database in one batch.
+     * The batch stays in PENDING (and so in {@link #overlay}) until it is committed; only then is it
+     * subtracted and the cached rows invalidated, so readers never see a reaction vanish mid-flush.
+     * On failure the deltas are simply left pending and persisted to the backlog file.
+     */
+    public static void flush() {
+        synchronized (FLUSH_LOCK) {
+            FLUSH_REQUESTED.set(false);
+
+            Map<Integer, CounterDelta> batch = snapshot();
+            if (batch.isEmpty()) return;
+
+            try {
+                Repositories.restaurants().applyCounterDeltas(batch).join();
+                batch.forEach(CounterAggregator::subtract);
+                CatalogCache.invalidate(batch.keySet());
+                deleteBacklog();
+            } catch (RuntimeException e) {
+                System.err.println("Counter flush failed, keeping " + PENDING.size() + " pending deltas: " + e.getMessage());
+                saveBacklog();
+            }
+        }
+    }
+
+    private static void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("Counter flush error: " + e.getMessage());
+        }
+    }
+
+    // Copy every pending entry; they stay in the map until the batch is committed
+    private static Map<Integer, CounterDelta> snapshot() {
+        Map<Integer, CounterDelta> batch = new HashMap<>();
+        PENDING.forEach((id, delta) -> {
+            if (!delta.isZero()) batch.put(id, delta);
+        });
+        return batch;
+    }
+
+    // Remove a committed delta, keeping anything recorded for the restaurant since the snapshot
+    private static void subtract(int restaurantId, CounterDelta committed) {
+        PENDING.computeIfPresent(restaurantId, (id, current) -> {
+            CounterDelta rest = current.minus(committed);
+            return rest.isZero() ? null : rest;
+        });
+    }
+
+    private static void saveBacklog() {
+        Properties props = new Properties();
+        PENDING.forEach((id, d) -> props.setProperty(String.valueOf(id),
+                d.likes() + "," + d.dislikes() + "," + d.netScore() + "," + d.weeklyLikes()));
+        try {
+            Files.createDirectories(BACKLOG_FILE.getParent());
+            Path tmp = BACKLOG_FILE.resolveSibling(BACKLOG_FILE.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "Unflushed restaurant counter deltas: likes,dislikes,netScore,weeklyLikes");
+            }
+            Files.move(tmp, BACKLOG_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save counter backlog: " + e.getMessage());
+        }
+    }
+
+    private static void loadBacklog() {
+        if (!Files.exists(BACKLOG_FILE)) return;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(BACKLOG_FILE)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read counter backlog: " + e.getMessage());
+            return;
+        }
+        for (String key : props.stringPropertyNames()) {
+            try {
+                String[] parts = props.getProperty(key).split(",");
+                CounterDelta delta = new CounterDelta(
+                        Integer.parseInt(parts[0].trim()),
+                        Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim()),
+                        Integer.parseInt(parts[3].trim()));
+                PENDING.merge(Integer.parseInt(key), delta, CounterDelta::plus);
+            } catch (RuntimeException e) {
+                System.err.println("Skipping malformed counter backlog entry: " + key);
+            }
+        }
+        System.out.println("Replaying " + PENDING.size() + " counter deltas from backlog.");
+    }
+
+    private static void deleteBacklog() {
+        try {
+            Files.deleteIfExists(BACKLOG_FILE);
+        } catch (IOException e) {
+            System.err.println("Failed to delete counter backlog: " + e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.idktogo.idk_to_go.service;
 
-import com.idktogo.idk_to_go.dao.HistoryDAO;
+import com.idktogo.idk_to_go.model.HistoryEntry;
 import com.idktogo.idk_to_go.model.UserHistory;
+import com.idktogo.idk_to_go.repository.Repositories;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -9,14 +10,19 @@ public final class HistoryService {
     public HistoryService() {}
 
     public static CompletableFuture<List<UserHistory>> listByUser(int userId) {
-        return HistoryDAO.listByUser(userId);
+        return Repositories.history().listByUser(userId);
+    }
+
+    // History entries with their restaurants already attached, newest first
+    public static CompletableFuture<List<HistoryEntry>> listEntriesByUser(int userId) {
+        return Repositories.history().listByUserWithRestaurants(userId);
     }
 
     public static CompletableFuture<Integer> clearUserHistory(int userId) {
-        return HistoryDAO.deleteAllForUser(userId);
+        return Repositories.history().deleteAllForUser(userId);
     }
 
     public static CompletableFuture<Void> clearAllHistory() {
-        return HistoryDAO.deleteAllForAllUsers();
+        return Repositories.history().deleteAllForAllUsers();
     }
 }
@@ -0,0 +1,397 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+import com.idktogo.idk_to_go.core.ClaudeConfig;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Application-wide client for the Claude messages API.
+ * One HttpClient (HTTP/2, so calls share a connection) is created on first use and every call
+ * goes out with sendAsync; no thread is blocked while waiting for the model, and response
+ * handling runs on {@link AppExecutors#llm()}. Cancelling a returned future aborts the request.
+ * {@link #stream} reads the reply as server-sent events and hands text on as it arrives.
+ * Endpoint, model and timeouts come from {@link AppConfig} ("llm.*"), the key from {@link ClaudeConfig}.
+ */
+public final class LlmClient {
+
+    private static final String MESSAGES_PATH = "/v1/messages";
+    private static final String ANTHROPIC_VERSION = "2023-06-01";
+
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder FAILURES = new LongAdder();
+    private static final LongAdder CANCELLED = new LongAdder();
+    private static final LongAdder INPUT_TOKENS = new LongAdder();
+    private static final LongAdder OUTPUT_TOKENS = new LongAdder();
+    private static final LongAdder LATENCY_MILLIS = new LongAdder();
+
+    private static volatile HttpClient client;
+
+    private LlmClient() {}
+
+    /**
+     * Result of one call.
+     * @param text Text of the first content block ("{}" if there is none).
+     */
+    public record Response(String text, int inputTokens, int outputTokens, long latencyMillis) {}
+
+    /**
+     * Call counters since startup.
+     */
+    public record Stats(long calls, long failures, long cancelled, long inputTokens, long outputTokens, long averageLatencyMillis) {
+        @Override
+        public String toString() {
+            return "calls=" + calls + ", failures=" + failures + ", cancelled=" + cancelled
+                    + ", inputTokens=" + inputTokens + ", outputTokens=" + outputTokens
+                    + ", avgLatency=" + averageLatencyMillis + "ms";
+        }
+    }
+
+    // Whether an API key is available
+    public static boolean isConfigured() {
+        return ClaudeConfig.isConfigured();
+    }
+
+    /**
+     * Sends one user message with a system prompt.
+     * @return The model's reply; fails on a non-200 status or timeout. Cancelling it aborts the request.
+     */
+    public static CompletableFuture<Response> complete(String systemMessage, String userMessage, int maxTokens, double temperature) {
+        HttpRequest request;
+        try {
+            request = newRequest(buildBody(systemMessage, userMessage, maxTokens, temperature).toString());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long started = System.nanoTime();
+        CALLS.increment();
+
+        // A plain future of our own: the HttpClient's futures don't report cancellation of their dependents
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> exchange = client().sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        exchange.whenCompleteAsync((response, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else if (response.statusCode() != 200) {
+                result.completeExceptionally(new RuntimeException(
+                        "API request failed with status " + response.statusCode() + ": " + response.body()));
+            } else {
+                try {
+                    result.complete(parse(response.body(), (System.nanoTime() - started) / 1_000_000));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(new RuntimeException("Failed to parse API response: " + e.getMessage(), e));
+                }
+            }
+        }, AppExecutors.llm());
+
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                CANCELLED.increment();
+                exchange.cancel(true);
+            } else if (ex != null) {
+                FAILURES.increment();
+            } else {
+                record(response);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends one user message and streams the reply as server-sent events.
+     * Lines are pushed to the reader as they arrive, so no thread waits on the connection. A stream
+     * that sends nothing for "llm.stream.idleTimeoutMillis" is closed and the call fails.
+     * @param onText Called with each piece of text as it arrives, on an HTTP client thread.
+     * @return The whole reply once message_stop arrives; fails on a non-200 status, a stream error,
+     *         a stream that ends early or a timeout. Cancelling it closes the stream.
+     */
+    public static CompletableFuture<Response> stream(String systemMessage, String userMessage, int maxTokens,
+                                                     double temperature, Consumer<String> onText) {
+        HttpRequest request;
+        try {
+            JSONObject body = buildBody(systemMessage, userMessage, maxTokens, temperature);
+            body.put("stream", true);
+            request = newRequest(body.toString());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long started = System.nanoTime();
+        CALLS.increment();
+
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        EventStream events = new EventStream(onText, started,
+                Math.max(1, AppConfig.getLong("llm.stream.idleTimeoutMillis", 30_000)), result);
+        // A 200 response is read as events; anything else is collected to report the error
+        CompletableFuture<HttpResponse<String>> exchange = client().sendAsync(request, info -> info.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(events, e -> null, StandardCharsets.UTF_8, null)
+                : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8));
+        exchange.whenCompleteAsync((response, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else if (response.statusCode() != 200) {
+                result.completeExceptionally(new RuntimeException(
+                        "API request failed with status " + response.statusCode() + ": " + response.body()));
+            }
+            // A 200 stream completes the result from its events
+        }, AppExecutors.llm());
+
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                CANCELLED.increment();
+                events.close();
+                exchange.cancel(true);
+            } else if (ex != null) {
+                FAILURES.increment();
+            } else {
+                record(response);
+            }
+        });
+        return result;
+    }
+
+    // Get the call counters
+    public static Stats stats() {
+        long calls = CALLS.sum();
+        long succeeded = calls - FAILURES.sum() - CANCELLED.sum();
+        return new Stats(calls, FAILURES.sum(), CANCELLED.sum(), INPUT_TOKENS.sum(), OUTPUT_TOKENS.sum(),
+                succeeded > 0 ? LATENCY_MILLIS.sum() / succeeded : 0);
+    }
+
+    private static HttpClient client() {
+        HttpClient c = client;
+        if (c == null) {
+            synchronized (LlmClient.class) {
+                c = client;
+                if (c == null) {
+                    c = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_2)
+                            .connectTimeout(Duration.ofMillis(Math.max(1, AppConfig.getLong("llm.connectTimeoutMillis", 10_000))))
+                            // Plain virtual threads: the client's own work must not wait for LLM bulkhead permits
+                            .executor(AppExecutors.background())
+                            .build();
+                    client = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    private static JSONObject buildBody(String systemMessage, String userMessage, int maxTokens, double temperature) {
+        JSONObject requestBody = new JSONObject();
+        requestBody.put("model", AppConfig.getString("llm.model", "claude-sonnet-4-20250514"));
+        requestBody.put("max_tokens", maxTokens);
+        requestBody.put("temperature", temperature);
+        requestBody.put("system", systemMessage);
+
+        JSONArray messages = new JSONArray();
+        JSONObject userMsg = new JSONObject();
+        userMsg.put("role", "user");
+        userMsg.put("content", userMessage);
+        messages.put(userMsg);
+        requestBody.put("messages", messages);
+        return requestBody;
+    }
+
+    private static HttpRequest newRequest(String body) {
+        String baseUrl = AppConfig.getString("llm.baseUrl", "https://api.anthropic.com");
+        if (baseUrl.endsWith("/")) baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + MESSAGES_PATH))
+                .timeout(Duration.ofMillis(Math.max(1, AppConfig.getLong("llm.requestTimeoutMillis", 60_000))))
+                .header("Content-Type", "application/json")
+                .header("x-api-key", ClaudeConfig.getApiKey())
+                .header("anthropic-version", ANTHROPIC_VERSION)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Response parse(String body, long latencyMillis) {
+        JSONObject responseJson = new JSONObject(body);
+        JSONArray content = responseJson.getJSONArray("content");
+        String text = content.length() > 0 ? content.getJSONObject(0).getString("text") : "{}";
+
+        JSONObject usage = responseJson.optJSONObject("usage");
+        int inputTokens = usage != null ? usage.optInt("input_tokens") : 0;
+        int outputTokens = usage != null ? usage.optInt("output_tokens") : 0;
+        return new Response(text, inputTokens, outputTokens, latencyMillis);
+    }
+
+    /**
+     * Reads the messages API event stream: text deltas are passed on as they arrive,
+     * token usage is taken from message_start and message_delta. Completes the result on
+     * message_stop and closes the body when it fails, goes idle or the result is cancelled.
+     */
+    private static final class EventStream implements Flow.Subscriber<String> {
+        private final Consumer<String> onText;
+        private final long started;
+        private final long idleTimeoutMillis;
+        private final CompletableFuture<Response> result;
+        private volatile Flow.Subscription subscription;
+        private volatile long lastLineNanos;
+
+        // Only touched by onNext, which the HTTP client calls one line at a time
+        private final StringBuilder text = new StringBuilder();
+        private String event;
+        private final StringBuilder data = new StringBuilder();
+        private int inputTokens;
+        private int outputTokens;
+        private boolean finished;
+
+        EventStream(Consumer<String> onText, long started, long idleTimeoutMillis, CompletableFuture<Response> result) {
+            this.onText = onText;
+            this.started = started;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.result = result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            lastLineNanos = System.nanoTime();
+            scheduleIdleCheck(idleTimeoutMillis);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (result.isDone()) return;
+            lastLineNanos = System.nanoTime();
+            try {
+                line(line);
+                if (finished) {
+                    result.complete(response(elapsedMillis()));
+                    close();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) return;
+            try {
+                result.complete(response(elapsedMillis()));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        // Stop reading; the client closes the body and releases the stream
+        void close() {
+            Flow.Subscription s = subscription;
+            if (s != null) s.cancel();
+        }
+
+        private void fail(Throwable error) {
+            result.completeExceptionally(error);
+            close();
+        }
+
+        // One pending check per idle period instead of a timer per line
+        private void scheduleIdleCheck(long delayMillis) {
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, AppExecutors.background())
+                    .execute(this::checkIdle);
+        }
+
+        private void checkIdle() {
+            if (result.isDone()) return;
+            long idleMillis = (System.nanoTime() - lastLineNanos) / 1_000_000;
+            if (idleMillis >= idleTimeoutMillis) {
+                fail(new HttpTimeoutException("API stream sent nothing for " + idleMillis + " ms"));
+            } else {
+                scheduleIdleCheck(idleTimeoutMillis - idleMillis);
+            }
+        }
+
+        private long elapsedMillis() {
+            return (System.nanoTime() - started) / 1_000_000;
+        }
+
+        void line(String line) {
+            if (line.isEmpty()) {
+                dispatch();
+            } else if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) data.append('\n');
+                data.append(line.substring(5).stripLeading());
+            }
+            // Comments (":") and other fields are ignored
+        }
+
+        private void dispatch() {
+            if (data.isEmpty()) {
+                event = null;
+                return;
+            }
+            JSONObject payload = new JSONObject(data.toString());
+            String type = event != null ? event : payload.optString("type");
+            event = null;
+            data.setLength(0);
+
+            switch (type) {
+                case "message_start" -> {
+                    JSONObject usage = payload.getJSONObject("message").optJSONObject("usage");
+                    if (usage != null) inputTokens = usage.optInt("input_tokens");
+                }
+                case "content_block_delta" -> {
+                    JSONObject delta = payload.getJSONObject("delta");
+                    if (!"text_delta".equals(delta.optString("type"))) return;
+                    String piece = delta.getString("text");
+                    text.append(piece);
+                    onText.accept(piece);
+                }
+                case "message_delta" -> {
+                    JSONObject usage = payload.optJSONObject("usage");
+                    if (usage != null) outputTokens = usage.optInt("output_tokens");
+                }
+                case "message_stop" -> finished = true;
+                case "error" -> throw new RuntimeException("API stream error: "
+                        + payload.optJSONObject("error", new JSONObject()).optString("message", payload.toString()));
+                default -> {
+                    // ping, content_block_start/stop
+                }
+            }
+        }
+
+        Response response(long latencyMillis) {
+            if (!finished) throw new RuntimeException("API stream ended before message_stop");
+            return new Response(text.isEmpty() ? "{}" : text.toString(), inputTokens, outputTokens, latencyMillis);
+        }
+    }
+
+    private static void record(Response response) {
+        INPUT_TOKENS.add(response.inputTokens());
+        OUTPUT_TOKENS.add(response.outputTokens());
+        LATENCY_MILLIS.add(response.latencyMillis());
+        System.out.println("LLM call: " + response.latencyMillis() + " ms, "
+                + response.inputTokens() + " input / " + response.outputTokens() + " output tokens");
+    }
+}
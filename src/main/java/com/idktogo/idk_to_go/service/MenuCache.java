@@ -0,0 +1,128 @@
+package com.idktogo.idk_to_go.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * LRU cache of immutable menu lists keyed by restaurant ID.
+ * The cache is bounded by an estimated memory footprint ("menu.cache.maxBytes"), and
+ * writes patch the cached list in place instead of forcing a reload.
+ */
+public final class MenuCache {
+
+    // Rough per-object costs used to estimate heap usage
+    private static final int LIST_OVERHEAD_BYTES = 64;
+    private static final int ITEM_OVERHEAD_BYTES = 56;
+
+    private static final Comparator<MenuItem> MENU_ORDER =
+            Comparator.comparing(MenuItem::itemName, String.CASE_INSENSITIVE_ORDER).thenComparingInt(MenuItem::id);
+
+    private static final AtomicLong ESTIMATED_BYTES = new AtomicLong();
+    private static final AtomicLong WRITE_VERSION = new AtomicLong();
+
+    private static final Cache<Integer, List<MenuItem>> MENUS = CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(1, AppConfig.getLong("menu.cache.maxBytes", 2L * 1024 * 1024)))
+            .weigher((Integer id, List<MenuItem> items) -> weigh(items))
+            .removalListener((RemovalNotification<Integer, List<MenuItem>> n) ->
+                    ESTIMATED_BYTES.addAndGet(-weigh(n.getValue())))
+            .recordStats()
+            .build();
+
+    private MenuCache() {}
+
+    /**
+     * Cache counters plus the estimated heap held by cached menus.
+     */
+    public record Stats(long hits, long misses, long evictions, long menus, long estimatedBytes) {
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", menus=" + menus + ", estimatedBytes=" + estimatedBytes;
+        }
+    }
+
+    static List<MenuItem> get(int restaurantId) {
+        return MENUS.getIfPresent(restaurantId);
+    }
+
+    // Get a token to pass to putIfUnchanged before starting a load
+    static long version() {
+        return WRITE_VERSION.get();
+    }
+
+    // Cache a freshly loaded menu unless a write happened while it was loading
+    static List<MenuItem> putIfUnchanged(int restaurantId, List<MenuItem> items, long versionAtLoad) {
+        List<MenuItem> sorted = sorted(items);
+        synchronized (MenuCache.class) {
+            if (WRITE_VERSION.get() == versionAtLoad) store(restaurantId, sorted);
+        }
+        return sorted;
+    }
+
+    static void added(MenuItem item) {
+        patch(item.restaurantId(), items -> {
+            List<MenuItem> next = new ArrayList<>(items);
+            next.add(item);
+            return next;
+        });
+    }
+
+    static void updated(MenuItem item) {
+        patch(item.restaurantId(), items -> items.stream()
+                .map(existing -> existing.id() == item.id() ? item : existing)
+                .toList());
+    }
+
+    static void removed(int restaurantId, int menuItemId) {
+        patch(restaurantId, items -> items.stream().filter(i -> i.id() != menuItemId).toList());
+    }
+
+    static void invalidate(int restaurantId) {
+        synchronized (MenuCache.class) {
+            WRITE_VERSION.incrementAndGet();
+            MENUS.invalidate(restaurantId);
+        }
+    }
+
+    // Get the cache counters and memory estimate
+    public static Stats stats() {
+        CacheStats s = MENUS.stats();
+        return new Stats(s.hitCount(), s.missCount(), s.evictionCount(), MENUS.size(), ESTIMATED_BYTES.get());
+    }
+
+    private static void patch(int restaurantId, UnaryOperator<List<MenuItem>> change) {
+        synchronized (MenuCache.class) {
+            WRITE_VERSION.incrementAndGet();
+            List<MenuItem> current = MENUS.getIfPresent(restaurantId);
+            if (current != null) store(restaurantId, sorted(change.apply(current)));
+        }
+    }
+
+    private static void store(int restaurantId, List<MenuItem> items) {
+        MENUS.put(restaurantId, items);
+        ESTIMATED_BYTES.addAndGet(weigh(items));
+    }
+
+    private static List<MenuItem> sorted(List<MenuItem> items) {
+        return items.stream().sorted(MENU_ORDER).toList();
+    }
+
+    private static int weigh(List<MenuItem> items) {
+        if (items == null) return 0;
+        int bytes = LIST_OVERHEAD_BYTES;
+        for (MenuItem item : items) {
+            bytes += ITEM_OVERHEAD_BYTES + 2 * (item.itemName() == null ? 0 : item.itemName().length());
+        }
+        return bytes;
+    }
+}
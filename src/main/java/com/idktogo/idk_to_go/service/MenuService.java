@@ -0,0 +1,51 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.repository.Repositories;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public final class MenuService {
+    private MenuService() {}
+
+    // Menu for a restaurant, served from MenuCache when present
+    public static CompletableFuture<List<MenuItem>> listByRestaurant(int restaurantId) {
+        List<MenuItem> cached = MenuCache.get(restaurantId);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        long version = MenuCache.version();
+        return Repositories.menuItems().listByRestaurant(restaurantId)
+                .thenApply(items -> MenuCache.putIfUnchanged(restaurantId, items, version));
+    }
+
+    // Writes go to the database first, then patch the cached menu with the result
+
+    public static CompletableFuture<MenuItem> create(MenuItem item) {
+        return Repositories.menuItems().create(item).thenApply(created -> {
+            MenuCache.added(created);
+            return created;
+        });
+    }
+
+    // Insert many items in one transaction; cached menus are patched with the new rows
+    public static CompletableFuture<List<MenuItem>> createAll(List<MenuItem> items) {
+        return Repositories.menuItems().createAll(items).thenApply(created -> {
+            created.forEach(MenuCache::added);
+            return created;
+        });
+    }
+
+    public static CompletableFuture<Boolean> update(MenuItem item) {
+        return Repositories.menuItems().update(item).thenApply(updated -> {
+            if (updated) MenuCache.updated(item);
+            return updated;
+        });
+    }
+
+    public static CompletableFuture<Boolean> delete(int restaurantId, int menuItemId) {
+        return Repositories.menuItems().delete(menuItemId).thenApply(deleted -> {
+            if (deleted) MenuCache.removed(restaurantId, menuItemId);
+            return deleted;
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.core.AppExecutors;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ready-made quizzes, so the quiz screen can show questions without waiting for the model.
+ * Up to "quiz.pool.size" validated quizzes are kept in memory and in data/quiz_pool.json, which
+ * survives restarts. Taking one starts a background refill; refills stop once they have spent
+ * "quiz.pool.tokenBudgetPerHour" tokens in the current hour, and the pool simply runs lower until then.
+ */
+public final class QuizPool {
+
+    private static final Path POOL_FILE = Paths.get("data", "quiz_pool.json");
+    private static final long BUDGET_WINDOW_MILLIS = 60 * 60 * 1000L;
+
+    // Guarded by QuizPool.class
+    private static final Deque<String> QUIZZES = new ArrayDeque<>();
+    private static boolean loaded;
+    private static long budgetWindowStart;
+    private static long tokensSpent;
+    private static boolean savePending;
+
+    // Serializes writes of the pool file, which happen outside the QuizPool.class lock
+    private static final Object SAVE_LOCK = new Object();
+
+    private static final AtomicBoolean REFILLING = new AtomicBoolean();
+
+    private QuizPool() {}
+
+    // Whether quizzes should be served from the pool
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("quiz.pool.enabled", true);
+    }
+
+    // Load the saved pool and top it up in the background
+    public static CompletableFuture<Void> start() {
+        if (!isEnabled() || !LlmClient.isConfigured()) return CompletableFuture.completedFuture(null);
+        return CompletableFuture.runAsync(() -> {
+            ensureLoaded();
+            refill();
+        }, AppExecutors.background());
+    }
+
+    /**
+     * Gets a quiz as a JSON array string, already checked by {@link QuizService#parseQuiz}.
+     * A pooled quiz is returned immediately; with an empty pool a new one is generated.
+     * Either way the pool is refilled in the background. If the caller cancels while a quiz is
+     * being generated, the quiz still goes into the pool.
+     */
+    public static CompletableFuture<String> take() {
+        if (!isEnabled()) return QuizService.generateQuiz();
+
+        String pooled;
+        synchronized (QuizPool.class) {
+            ensureLoaded();
+            pooled = QUIZZES.pollFirst();
+            if (pooled != null) scheduleSave();
+        }
+
+        if (pooled != null) {
+            System.out.println("Serving quiz from pool (" + size() + " left)");
+            refill();
+            return CompletableFuture.completedFuture(pooled);
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        generate().whenComplete((quiz, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else if (!result.complete(quiz)) {
+                offer(quiz);
+            }
+            refill();
+        });
+        return result;
+    }
+
+    // Number of quizzes ready
+    public static synchronized int size() {
+        return QUIZZES.size();
+    }
+
+    // Generate quizzes until the pool is full, the budget runs out or a call fails (one refill at a time)
+    private static void refill() {
+        if (!REFILLING.compareAndSet(false, true)) return;
+        refillNext();
+    }
+
+    private static void refillNext() {
+        if (size() >= targetSize() || !withinBudget()) {
+            REFILLING.set(false);
+            // Anything taken while the last refill was finishing
+            if (size() < targetSize() && withinBudget() && REFILLING.compareAndSet(false, true)) refillNext();
+            return;
+        }
+
+        generate().whenComplete((quiz, ex) -> {
+            if (ex != null) {
+                System.err.println("Quiz pool refill failed: " + ex.getMessage());
+                REFILLING.set(false);
+                return;
+            }
+            offer(quiz);
+            refillNext();
+        });
+    }
+
+    // One validated quiz; its tokens count against the budget
+    private static CompletableFuture<String> generate() {
+        return QuizService.requestQuiz().thenApply(response -> {
+            spend(response.inputTokens() + response.outputTokens());
+            String quiz = QuizService.cleanJson(response.text());
+            QuizService.parseQuiz(quiz);
+            return quiz;
+        });
+    }
+
+    private static synchronized void offer(String quiz) {
+        if (QUIZZES.size() >= targetSize()) return;
+        QUIZZES.addLast(quiz);
+        scheduleSave();
+        System.out.println("Quiz pool: " + QUIZZES.size() + "/" + targetSize());
+    }
+
+    private static int targetSize() {
+        return Math.max(0, AppConfig.getInt("quiz.pool.size", 3));
+    }
+
+    private static synchronized boolean withinBudget() {
+        rollBudgetWindow();
+        return tokensSpent < AppConfig.getLong("quiz.pool.tokenBudgetPerHour", 10_000);
+    }
+
+    private static synchronized void spend(long tokens) {
+        rollBudgetWindow();
+        tokensSpent += tokens;
+    }
+
+    private static void rollBudgetWindow() {
+        long now = System.currentTimeMillis();
+        if (now - budgetWindowStart >= BUDGET_WINDOW_MILLIS) {
+            budgetWindowStart = now;
+            tokensSpent = 0;
+        }
+    }
+
+    // Read data/quiz_pool.json once, dropping entries that no longer pass validation
+    private static synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        if (!Files.exists(POOL_FILE)) return;
+
+        try {
+            JSONArray saved = new JSONArray(Files.readString(POOL_FILE, StandardCharsets.UTF_8));
+            for (int i = 0; i < saved.length() && QUIZZES.size() < targetSize(); i++) {
+                String quiz = saved.getJSONArray(i).toString();
+                try {
+                    QuizService.parseQuiz(quiz);
+                    QUIZZES.addLast(quiz);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Dropping invalid pooled quiz: " + e.getMessage());
+                }
+            }
+            System.out.println("Loaded " + QUIZZES.size() + " pooled quizzes");
+        } catch (IOException | JSONException e) {
+            System.err.println("Failed to load quiz pool: " + e.getMessage());
+        }
+    }
+
+    // Write the pool in the background; changes made before the write starts go out together.
+    // Caller holds QuizPool.class
+    private static void scheduleSave() {
+        if (savePending) return;
+        savePending = true;
+        AppExecutors.background().execute(QuizPool::save);
+    }
+
+    private static void save() {
+        synchronized (SAVE_LOCK) {
+            List<String> quizzes;
+            synchronized (QuizPool.class) {
+                savePending = false;
+                quizzes = List.copyOf(QUIZZES);
+            }
+            write(quizzes);
+        }
+    }
+
+    private static void write(List<String> quizzes) {
+        JSONArray all = new JSONArray();
+        quizzes.forEach(quiz -> all.put(new JSONArray(quiz)));
+        try {
+            Files.createDirectories(POOL_FILE.getParent());
+            Path tmp = POOL_FILE.resolveSibling(POOL_FILE.getFileName() + ".tmp");
+            Files.writeString(tmp, all.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, POOL_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save quiz pool: " + e.getMessage());
+        }
+    }
+}
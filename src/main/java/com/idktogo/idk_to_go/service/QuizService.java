@@ -1,59 +1,235 @@
 package com.idktogo.idk_to_go.service;
 
-import com.idktogo.idk_to_go.core.ClaudeConfig;
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.model.UserHistory;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
-public class QuizService {
-    private static final String CLAUDE_API_URL = "https://api.anthropic.com/v1/messages";
-    private static final String CLAUDE_MODEL = "claude-sonnet-4-20250514";
-    private static final String ANTHROPIC_VERSION = "2023-06-01";
+/**
+ * Prompts for the food quiz and the final recommendation, sent through {@link LlmClient}.
+ */
+public final class QuizService {
 
-    private final HttpClient httpClient;
-    private final String apiKey;
+    private static final String QUIZ_SYSTEM_MESSAGE = "You are a creative quiz generator. Output only valid JSON.";
+    private static final String QUIZ_USER_MESSAGE = """
+            Generate a JSON array of exactly 6 creative, fun, and quirky multiple-choice questions
+            to determine what a user should eat. Each question should have 3-4 answer options.
 
-    public QuizService() {
-        this.httpClient = HttpClient.newHttpClient();
-        this.apiKey = ClaudeConfig.getApiKey();
+            Format as an array of objects:
+            [
+              {
+                "question": "What's your vibe today?",
+                "options": ["Energetic", "Chill", "Adventurous", "Cozy"]
+              },
+              ...
+            ]
+
+            Include varied questions about mood, flavor preferences, textures, cuisine types,
+            eating context, and adventurousness.
+
+            Make options concise (1-2 words) and varied (3-4 options per question).
+            Output ONLY valid JSON, nothing else.
+            """;
+    private static final int QUIZ_MAX_TOKENS = 800;
+    private static final double QUIZ_TEMPERATURE = 0.9;
+    private static final int MIN_QUESTIONS = 5;
+    private static final int MAX_QUESTIONS = 8;
+
+    private static final String RECOMMENDATION_SYSTEM_MESSAGE = """
+            You are a helpful food recommendation assistant.
+
+            AVAILABLE RESTAURANTS:
+            %s
+
+            RULES:
+            1. You MUST ONLY recommend restaurants from the list above
+            2. Choose the single best match based on user preferences
+            3. If no perfect match exists, pick the closest option and explain why
+            4. Output ONLY valid JSON in this exact format:
+            {
+              "recommended_name": "exact restaurant name from list",
+              "reason": "2-3 sentence explanation of why this matches their preferences",
+              "alternatives": ["alternative 1 name", "alternative 2 name"]
+            }
+
+            Do not include any text outside the JSON object.
+            """;
+    private static final int RECOMMENDATION_MAX_TOKENS = 400;
+    private static final double RECOMMENDATION_TEMPERATURE = 0.5;
+
+    private QuizService() {}
+
+    /**
+     * Asks the model for a new quiz.
+     * @return The quiz as a JSON array string (code fences removed).
+     */
+    public static CompletableFuture<String> generateQuiz() {
+        return jsonOf(requestQuiz());
+    }
+
+    // The raw quiz call, with its token usage
+    static CompletableFuture<LlmClient.Response> requestQuiz() {
+        System.out.println("Sending request to Claude for quiz generation...");
+        return LlmClient.complete(QUIZ_SYSTEM_MESSAGE, QUIZ_USER_MESSAGE, QUIZ_MAX_TOKENS, QUIZ_TEMPERATURE);
+    }
+
+    /**
+     * Parses and checks a quiz: 5-8 questions, each with a question and at least two options.
+     * @throws IllegalArgumentException If the JSON is malformed or doesn't have that shape.
+     */
+    public static JSONArray parseQuiz(String json) {
+        try {
+            JSONArray questions = new JSONArray(json);
+            if (questions.length() < MIN_QUESTIONS || questions.length() > MAX_QUESTIONS) {
+                throw new IllegalArgumentException("Expected " + MIN_QUESTIONS + "-" + MAX_QUESTIONS
+                        + " questions, got " + questions.length());
+            }
+            for (int i = 0; i < questions.length(); i++) {
+                JSONObject question = questions.getJSONObject(i);
+                if (question.getString("question").isBlank()) {
+                    throw new IllegalArgumentException("Question " + (i + 1) + " is blank");
+                }
+                JSONArray options = question.getJSONArray("options");
+                if (options.length() < 2) {
+                    throw new IllegalArgumentException("Question " + (i + 1) + " has fewer than 2 options");
+                }
+                for (int j = 0; j < options.length(); j++) options.getString(j);
+            }
+            return questions;
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Invalid quiz JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Receives the fields of a streamed recommendation as soon as each one is complete,
+     * on an HTTP client thread.
+     */
+    public interface RecommendationListener {
+        default void onName(String restaurantName) {}
+        default void onReason(String reason) {}
+        default void onAlternative(String restaurantName) {}
+    }
+
+    /**
+     * Asks the model to pick one of the restaurants for the given answers.
+     * Only the {@link CandidateRanker} top candidates are offered to the model, and replies are
+     * reused through {@link RecommendationCache} for identical answers and candidates.
+     * @param answers Answer per question.
+     * @return The recommendation as a JSON object string (code fences removed).
+     */
+    public static CompletableFuture<String> recommend(Map<String, String> answers, List<Restaurant> restaurants) {
+        return recommend(answers, restaurants, List.of(), null);
+    }
+
+    /**
+     * Like {@link #recommend(Map, List)}, but ranks candidates with the user's history too, and
+     * when "recommendation.streaming" is on the reply is streamed and the listener gets each field
+     * as it arrives. A cached reply completes immediately without calling the listener.
+     */
+    public static CompletableFuture<String> recommend(Map<String, String> answers, List<Restaurant> restaurants,
+                                                      List<UserHistory> history, RecommendationListener listener) {
+        Map<String, String> snapshot = new LinkedHashMap<>(answers);
+        List<Restaurant> offered = CandidateRanker.rank(snapshot, restaurants, history);
+        boolean streaming = listener != null && AppConfig.getBoolean("recommendation.streaming", true);
+
+        return RecommendationCache.get(snapshot, offered, () -> {
+            System.out.println("Sending request to Claude for recommendation...");
+            String candidates = candidateListText(offered);
+            CandidateRanker.recordPromptSize(candidates.length(), restaurantListLength(restaurants));
+            String systemMessage = RECOMMENDATION_SYSTEM_MESSAGE.formatted(candidates);
+            String userMessage = preferencesText(snapshot);
+            return jsonOf(streaming
+                    ? LlmClient.stream(systemMessage, userMessage, RECOMMENDATION_MAX_TOKENS, RECOMMENDATION_TEMPERATURE,
+                            new RecommendationStreamParser(listener))
+                    : LlmClient.complete(systemMessage, userMessage, RECOMMENDATION_MAX_TOKENS, RECOMMENDATION_TEMPERATURE),
+                    QuizService::checkRecommendation);
+        });
     }
 
-    public String sendMessage(String systemMessage, String userMessage, int maxTokens) throws Exception {
-        JSONObject requestBody = new JSONObject();
-        requestBody.put("model", CLAUDE_MODEL);
-        requestBody.put("max_tokens", maxTokens);
-        requestBody.put("system", systemMessage);
+    /**
+     * Checks that a recommendation is a JSON object with a non-blank "recommended_name".
+     * @return The same JSON text.
+     * @throws IllegalArgumentException If it isn't.
+     */
+    static String checkRecommendation(String json) {
+        try {
+            if (new JSONObject(json).getString("recommended_name").isBlank()) {
+                throw new IllegalArgumentException("Recommendation has a blank recommended_name");
+            }
+            return json;
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Invalid recommendation JSON: " + e.getMessage(), e);
+        }
+    }
+
+    // The reply's JSON text; cancelling the returned future also cancels the call
+    static CompletableFuture<String> jsonOf(CompletableFuture<LlmClient.Response> call) {
+        return jsonOf(call, UnaryOperator.identity());
+    }
 
-        JSONArray messages = new JSONArray();
-        JSONObject userMsg = new JSONObject();
-        userMsg.put("role", "user");
-        userMsg.put("content", userMessage);
-        messages.put(userMsg);
-        requestBody.put("messages", messages);
+    // Like jsonOf(call), but the text must also pass check
+    private static CompletableFuture<String> jsonOf(CompletableFuture<LlmClient.Response> call, UnaryOperator<String> check) {
+        CompletableFuture<String> json = call.thenApply(response -> check.apply(cleanJson(response.text())));
+        json.whenComplete((text, ex) -> {
+            if (json.isCancelled()) call.cancel(true);
+        });
+        return json;
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(CLAUDE_API_URL))
-                .header("Content-Type", "application/json")
-                .header("x-api-key", apiKey)
-                .header("anthropic-version", ANTHROPIC_VERSION)
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
-                .build();
+    private static String preferencesText(Map<String, String> answers) {
+        StringBuilder preferences = new StringBuilder("User preferences:\n");
+        answers.forEach((question, answer) ->
+                preferences.append("- ").append(question).append(": ").append(answer).append("\n"));
+        return preferences.toString();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    // Just what the model needs to choose: name and category
+    private static String candidateListText(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) {
+            return "No restaurants available.";
+        }
+        return restaurants.stream()
+                .map(r -> "- " + r.name() + " (" + r.category() + ")")
+                .collect(Collectors.joining("\n"));
+    }
 
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("API request failed: " + response.body());
+    // Length of the full list the prompt used to carry ("- name (Category: c, Location: l)" per line),
+    // added up per restaurant so reporting the savings doesn't build the text
+    private static int restaurantListLength(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) {
+            return "No restaurants available.".length();
         }
+        int length = restaurants.size() - 1;
+        for (Restaurant r : restaurants) {
+            length += "- ".length() + String.valueOf(r.name()).length()
+                    + " (Category: ".length() + String.valueOf(r.category()).length()
+                    + ", Location: ".length() + String.valueOf(r.location()).length() + ")".length();
+        }
+        return length;
+    }
 
-        JSONObject responseJson = new JSONObject(response.body());
-        JSONArray content = responseJson.getJSONArray("content");
-        if (content.length() > 0) {
-            return content.getJSONObject(0).getString("text");
+    // Strip the markdown code fences the model sometimes wraps JSON in
+    static String cleanJson(String response) {
+        String cleaned = response.trim();
+        if (cleaned.startsWith("```json")) {
+            cleaned = cleaned.substring(7);
+        }
+        if (cleaned.startsWith("```")) {
+            cleaned = cleaned.substring(3);
+        }
+        if (cleaned.endsWith("```")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 3);
         }
-        return "{}";
+        return cleaned.trim();
     }
 }
@@ -0,0 +1,163 @@
+package com.idktogo.idk_to_go.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.Restaurant;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of recommendation replies, keyed by a fingerprint of the quiz answers and a hash of
+ * the restaurants offered to the model. The same answers against the same candidates are answered
+ * locally; a different candidate set or any change to a candidate's name or category gives a
+ * new key, so stale picks are never served. Entries expire after "recommendation.cache.ttlMinutes"
+ * and at most "recommendation.cache.maxEntries" are kept, least recently used going first.
+ * Concurrent identical requests share one call; failed calls are not cached.
+ */
+public final class RecommendationCache {
+
+    private static final Cache<String, SharedLoad> REPLIES = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(Math.max(1, AppConfig.getLong("recommendation.cache.ttlMinutes", 60))))
+            .maximumSize(Math.max(1, AppConfig.getInt("recommendation.cache.maxEntries", 256)))
+            .recordStats()
+            .build();
+
+    private RecommendationCache() {}
+
+    // A reply being loaded (or loaded) for every caller with the same key
+    private static final class SharedLoad {
+        final CompletableFuture<String> reply;
+        private int callers;
+        private boolean abandoned;
+
+        SharedLoad(CompletableFuture<String> reply) {
+            this.reply = reply;
+        }
+
+        // A future for one more caller, or null if the load was already cancelled by everyone before
+        synchronized CompletableFuture<String> attach() {
+            if (abandoned) return null;
+            callers++;
+            CompletableFuture<String> copy = reply.copy();
+            copy.whenComplete((json, ex) -> {
+                if (copy.isCancelled()) detach();
+            });
+            return copy;
+        }
+
+        // The last caller still waiting cancelled: stop the call (and any stream feeding its listener)
+        private void detach() {
+            synchronized (this) {
+                if (--callers > 0 || reply.isDone()) return;
+                abandoned = true;
+            }
+            reply.cancel(true);
+        }
+    }
+
+    /**
+     * Cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, long size) {
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size;
+        }
+    }
+
+    // Whether recommendations should be cached
+    public static boolean isEnabled() {
+        return AppConfig.getBoolean("recommendation.cache.enabled", true);
+    }
+
+    /**
+     * Gets the cached reply for these answers and candidates, or loads and caches it.
+     * Each caller gets its own copy of the shared load; the load itself is cancelled only when
+     * every caller waiting for it has cancelled. The loader should fail on a reply that isn't
+     * usable, so it is dropped instead of cached.
+     */
+    public static CompletableFuture<String> get(Map<String, String> answers, List<Restaurant> restaurants,
+                                                Supplier<CompletableFuture<String>> loader) {
+        if (!isEnabled()) return loader.get();
+
+        String key = fingerprint(answers) + ":" + catalogVersion(restaurants);
+        while (true) {
+            SharedLoad shared;
+            try {
+                shared = REPLIES.get(key, () -> new SharedLoad(loader.get()));
+            } catch (ExecutionException e) {
+                return CompletableFuture.failedFuture(e.getCause());
+            }
+            shared.reply.whenComplete((json, ex) -> {
+                if (ex != null) REPLIES.asMap().remove(key, shared);
+            });
+
+            CompletableFuture<String> reply = shared.attach();
+            if (reply != null) return reply;
+            // Cancelled by its last caller just now; it is being removed, so start a new load
+            REPLIES.asMap().remove(key, shared);
+        }
+    }
+
+    /**
+     * Hash of the answers that ignores question order, letter case and extra whitespace.
+     */
+    public static String fingerprint(Map<String, String> answers) {
+        StringBuilder text = new StringBuilder();
+        answers.entrySet().stream()
+                .map(e -> normalize(e.getKey()) + "\u001F" + normalize(e.getValue()))
+                .sorted()
+                .forEach(pair -> text.append(pair).append('\u001E'));
+        return sha256(text.toString());
+    }
+
+    /**
+     * Hash of the restaurant fields the model sees, independent of list order.
+     */
+    public static String catalogVersion(List<Restaurant> restaurants) {
+        StringBuilder text = new StringBuilder();
+        restaurants.stream()
+                .sorted(Comparator.comparingInt(Restaurant::id))
+                .forEach(r -> text.append(r.id()).append('\u001F')
+                        .append(r.name()).append('\u001F')
+                        .append(r.category()).append('\u001E'));
+        return sha256(text.toString());
+    }
+
+    // Drop every cached reply
+    public static void invalidateAll() {
+        REPLIES.invalidateAll();
+    }
+
+    // Get the cache counters
+    public static Stats stats() {
+        CacheStats s = REPLIES.stats();
+        return new Stats(s.hitCount(), s.missCount(), s.evictionCount(), REPLIES.size());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.idktogo.idk_to_go.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Parses a recommendation JSON object while it is still arriving, using Jackson's non-blocking parser.
+ * Each field is reported as soon as its value is complete, so the name can be shown before the
+ * reason has been generated. Text before the opening brace (such as a code fence) is skipped;
+ * if the stream isn't valid JSON the parser goes quiet and the caller relies on the final reply.
+ */
+final class RecommendationStreamParser implements Consumer<String> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final QuizService.RecommendationListener listener;
+    private final JsonParser parser;
+    private boolean started;
+    private boolean done;
+    private int depth;
+    private String field;
+
+    RecommendationStreamParser(QuizService.RecommendationListener listener) {
+        this.listener = listener;
+        try {
+            this.parser = JSON.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create JSON parser: " + e.getMessage(), e);
+        }
+    }
+
+    // Feed the next piece of model output
+    @Override
+    public void accept(String piece) {
+        if (done) return;
+        if (!started) {
+            int brace = piece.indexOf('{');
+            if (brace < 0) return;
+            piece = piece.substring(brace);
+            started = true;
+        }
+
+        byte[] bytes = piece.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!done && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (IOException e) {
+            System.err.println("Stopped parsing streamed recommendation: " + e.getMessage());
+            done = true;
+        }
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> depth++;
+            case END_ARRAY -> depth--;
+            case END_OBJECT -> {
+                depth--;
+                // The closing brace of the recommendation; anything after it (e.g. a code fence) is ignored
+                if (depth == 0) done = true;
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) field = parser.currentName();
+            }
+            case VALUE_STRING -> {
+                if (depth == 1 && "recommended_name".equals(field)) listener.onName(parser.getText());
+                else if (depth == 1 && "reason".equals(field)) listener.onReason(parser.getText());
+                else if (depth == 2 && "alternatives".equals(field)) listener.onAlternative(parser.getText());
+            }
+            default -> {
+                // Numbers, booleans and nulls aren't part of a recommendation
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.core.AppConfig;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.repository.Repositories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single-restaurant lookups (DataLoader style).
+ * Every load(id) issued within a short window ("loader.batchWindowMillis") is collected,
+ * identical IDs share one future, and the whole batch is served by one
+ * {@code findByIds} call on the restaurant repository.
+ */
+public final class RestaurantLoader {
+
+    private static final Object LOCK = new Object();
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "restaurant-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static Map<Integer, CompletableFuture<Optional<Restaurant>>> batch = new HashMap<>();
+
+    private RestaurantLoader() {}
+
+    // Queue a lookup; it is answered together with every other lookup in the same window
+    public static CompletableFuture<Optional<Restaurant>> load(int id) {
+        boolean dispatchNow = false;
+        CompletableFuture<Optional<Restaurant>> future;
+
+        synchronized (LOCK) {
+            future = batch.get(id);
+            if (future != null) return future;
+
+            future = new CompletableFuture<>();
+            batch.put(id, future);
+
+            if (batch.size() == 1) {
+                long window = Math.max(0, AppConfig.getLong("loader.batchWindowMillis", 5));
+                TIMER.schedule(RestaurantLoader::dispatch, window, TimeUnit.MILLISECONDS);
+            } else if (batch.size() >= AppConfig.getInt("loader.maxBatchSize", 100)) {
+                dispatchNow = true;
+            }
+        }
+
+        if (dispatchNow) dispatch();
+        return future;
+    }
+
+    // Queue many lookups at once
+    public static CompletableFuture<Map<Integer, Restaurant>> loadAll(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<Optional<Restaurant>>> futures = new HashMap<>();
+        for (Integer id : new LinkedHashSet<>(ids)) futures.put(id, load(id));
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    Map<Integer, Restaurant> result = new HashMap<>();
+                    futures.forEach((id, f) -> f.join().ifPresent(r -> result.put(id, r)));
+                    return result;
+                });
+    }
+
+    // Send the current batch as one query and complete every waiting future
+    private static void dispatch() {
+        Map<Integer, CompletableFuture<Optional<Restaurant>>> current;
+        synchronized (LOCK) {
+            if (batch.isEmpty()) return;
+            current = batch;
+            batch = new HashMap<>();
+        }
+
+        Repositories.restaurants().findByIds(current.keySet()).whenComplete((found, ex) -> {
+            if (ex != null) {
+                current.values().forEach(f -> f.completeExceptionally(ex));
+            } else {
+                current.forEach((id, f) -> f.complete(Optional.ofNullable(found.get(id))));
+            }
+        });
+    }
+}
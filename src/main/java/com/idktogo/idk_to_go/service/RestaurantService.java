@@ -1,43 +1,91 @@
 package com.idktogo.idk_to_go.service;
 
-import com.idktogo.idk_to_go.dao.HistoryDAO;
-import com.idktogo.idk_to_go.dao.RestaurantDAO;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.repository.Repositories;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 public final class RestaurantService {
     private RestaurantService() {}
 
-    private static int asScore(Integer liked) {
-        return liked == null ? 0 : (liked > 0 ? 1 : -1);
+    // Catalog reads are served from CatalogCache; unflushed counter deltas are overlaid on the way out
+
+    public static CompletableFuture<List<Restaurant>> listAll() {
+        return CatalogCache.all(() -> Repositories.restaurants().listAll()).thenApply(RestaurantService::overlay);
+    }
+
+    public static CompletableFuture<List<Restaurant>> topByWeeklyLikes(int limit) {
+        return CatalogCache.topByWeeklyLikes(limit, () -> Repositories.restaurants().topByWeeklyLikes(limit))
+                .thenApply(RestaurantService::overlay);
+    }
+
+    public static CompletableFuture<List<Restaurant>> topByNetScore() {
+        return CatalogCache.topByNetScore(() -> Repositories.restaurants().topByNetScore()).thenApply(RestaurantService::overlay);
+    }
+
+    // Look up one restaurant; cache misses are coalesced into a single query
+    public static CompletableFuture<Optional<Restaurant>> findById(int restaurantId) {
+        return CatalogCache.byId(restaurantId, () -> RestaurantLoader.load(restaurantId))
+                .thenApply(opt -> opt.map(CounterAggregator::overlay));
+    }
+
+    // Catalog writes invalidate the cache once the database has accepted them
+
+    public static CompletableFuture<Void> create(Restaurant restaurant) {
+        return Repositories.restaurants().create(restaurant).whenComplete((v, ex) -> CatalogCache.invalidateAll());
+    }
+
+    // Insert many restaurants in one transaction; returns them with their IDs
+    public static CompletableFuture<List<Restaurant>> createAll(List<Restaurant> restaurants) {
+        return Repositories.restaurants().createAll(restaurants).whenComplete((v, ex) -> CatalogCache.invalidateAll());
     }
 
-    public static CompletableFuture<Void> handleLike(int userId, int restaurantId) {
+    public static CompletableFuture<Boolean> update(Restaurant restaurant) {
+        return Repositories.restaurants().update(restaurant)
+                .whenComplete((v, ex) -> CatalogCache.invalidate(List.of(restaurant.id())));
+    }
+
+    public static CompletableFuture<Void> delete(int restaurantId) {
+        return Repositories.restaurants().delete(restaurantId).whenComplete((v, ex) -> {
+            CatalogCache.invalidateAll();
+            MenuCache.invalidate(restaurantId);
+        });
+    }
+
+    public static CompletableFuture<Void> resetWeeklyLikes() {
+        return Repositories.restaurants().resetWeeklyLikes().whenComplete((v, ex) -> CatalogCache.invalidateAll());
+    }
+
+    public static CompletableFuture<Optional<Restaurant>> handleLike(int userId, int restaurantId) {
         return applyReaction(userId, restaurantId, +1);
     }
 
-    public static CompletableFuture<Void> handleDislike(int userId, int restaurantId) {
+    public static CompletableFuture<Optional<Restaurant>> handleDislike(int userId, int restaurantId) {
         return applyReaction(userId, restaurantId, -1);
     }
 
-    private static CompletableFuture<Void> applyReaction(int userId, int restaurantId, int newReaction) {
-        return HistoryDAO.getInteractionType(userId, restaurantId).thenCompose(currentOpt -> {
-            Integer current = currentOpt.orElse(null);
-            int oldScore = asScore(current);
-            int newScore = asScore(newReaction);
-            if (oldScore == newScore) return CompletableFuture.completedFuture(null);
-
-            return HistoryDAO.upsertInteraction(userId, restaurantId, newReaction).thenRun(() -> {
-                if (oldScore == 0 && newScore == 1) RestaurantDAO.incrementLikes(restaurantId);
-                else if (oldScore == 0 && newScore == -1) RestaurantDAO.incrementDislikes(restaurantId);
-                else if (oldScore == 1 && newScore == -1) {
-                    RestaurantDAO.decrementLikes(restaurantId);
-                    RestaurantDAO.incrementDislikes(restaurantId);
-                } else if (oldScore == -1 && newScore == 1) {
-                    RestaurantDAO.decrementDislikes(restaurantId);
-                    RestaurantDAO.incrementLikes(restaurantId);
-                }
-                RestaurantDAO.adjustNetAndWeekly(restaurantId, newScore - oldScore);
-            });
-        });
+    // Records the reaction and returns the restaurant with its new counts
+    private static CompletableFuture<Optional<Restaurant>> applyReaction(int userId, int restaurantId, int newReaction) {
+        if (!CounterAggregator.isEnabled()) {
+            // Upsert and counter UPDATE in a single transaction
+            return Repositories.restaurants().applyReaction(userId, restaurantId, newReaction)
+                    .thenApply(result -> {
+                        result.ifPresent(CatalogCache::put);
+                        return result;
+                    });
+        }
+
+        // Upsert history now, buffer the counter delta for the next batched flush
+        // (cached rows stay valid until the flush; reads overlay the pending delta)
+        return Repositories.restaurants().recordReaction(userId, restaurantId, newReaction).thenApply(result -> result.map(r -> {
+            CounterAggregator.record(restaurantId, r.delta());
+            return CounterAggregator.overlay(r.restaurant());
+        }));
+    }
+
+    private static List<Restaurant> overlay(List<Restaurant> restaurants) {
+        if (CounterAggregator.pendingCount() == 0) return restaurants;
+        return restaurants.stream().map(CounterAggregator::overlay).toList();
     }
 }
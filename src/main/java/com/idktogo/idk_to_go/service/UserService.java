@@ -1,7 +1,8 @@
 package com.idktogo.idk_to_go.service;
 
-import com.idktogo.idk_to_go.dao.UserDAO;
+import com.idktogo.idk_to_go.core.SessionManager;
 import com.idktogo.idk_to_go.model.User;
+import com.idktogo.idk_to_go.repository.Repositories;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
@@ -21,11 +22,11 @@ public final class UserService {
         if (user.password() == null || user.password().length() < 6)
             return CompletableFuture.failedFuture(new IllegalArgumentException("Password must be at least 6 characters"));
 
-        return UserDAO.findByUsername(user.username()).thenCompose(opt -> {
+        return Repositories.users().findByUsername(user.username()).thenCompose(opt -> {
             if (opt.isPresent())
                 return CompletableFuture.failedFuture(new RuntimeException("Username already taken"));
 
-            return UserDAO.findByEmail(user.email()).thenCompose(emailOpt -> {
+            return Repositories.users().findByEmail(user.email()).thenCompose(emailOpt -> {
                 if (emailOpt.isPresent())
                     return CompletableFuture.failedFuture(new RuntimeException("Email already registered"));
 
@@ -39,13 +40,13 @@ public final class UserService {
                         false,
                         Timestamp.from(Instant.now())
                 );
-                return UserDAO.create(newUser).thenApply(id -> null);
+                return Repositories.users().create(newUser).thenApply(id -> null);
             });
         });
     }
 
     public static CompletableFuture<User> getByCredentials(String username, String password) {
-        return UserDAO.findByCredentials(username, password)
+        return Repositories.users().findByCredentials(username, password)
                 .thenApply(opt -> opt.orElseThrow(() -> new RuntimeException("Invalid username or password")));
     }
 
@@ -57,10 +58,27 @@ public final class UserService {
         if (updatedUser.password() == null || updatedUser.password().length() < 6)
             return CompletableFuture.failedFuture(new IllegalArgumentException("Password must be at least 6 characters"));
 
-        return UserDAO.update(updatedUser);
+        return Repositories.users().update(updatedUser);
+    }
+
+    // Check that the remembered login still matches an account; a stale session is logged out
+    public static CompletableFuture<Boolean> validateSession() {
+        Integer userId = SessionManager.getUserId();
+        if (userId == null) return CompletableFuture.completedFuture(false);
+
+        String username = SessionManager.getUsername();
+        return Repositories.users().findById(userId).thenApply(user -> {
+            boolean valid = user.isPresent() && (username == null || username.isEmpty()
+                    || username.equalsIgnoreCase(user.get().username()));
+            if (!valid) {
+                System.out.println("Stored session for user " + userId + " is no longer valid; logging out.");
+                SessionManager.logout();
+            }
+            return valid;
+        });
     }
 
     public static CompletableFuture<Boolean> delete(int userId) {
-        return UserDAO.delete(userId);
+        return Repositories.users().delete(userId);
     }
 }
@@ -6,6 +6,9 @@ module com.idktogo.idk_to_go {
     requires java.sql;
     requires java.net.http;
     requires org.json;
+    requires org.apache.commons.dbcp2;
+    requires com.google.common;
+    requires com.fasterxml.jackson.core;
 
 
     opens com.idktogo.idk_to_go.controller to javafx.fxml;
@@ -0,0 +1,143 @@
+package com.idktogo.idk_to_go.controller;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Patches observable lists with {@link ListUpdates#apply} and checks both the result and the changes fired.
+ */
+class ListUpdatesTest {
+
+    private record Row(String id, int votes) {}
+
+    private static List<Row> rows(String... ids) {
+        List<Row> rows = new ArrayList<>();
+        for (String id : ids) rows.add(new Row(id, 0));
+        return rows;
+    }
+
+    // Applies next to a list holding current and returns the list; every fired change is added to changes
+    private static ObservableList<Row> apply(List<Row> current, List<Row> next, List<String> changes) {
+        ObservableList<Row> target = FXCollections.observableArrayList(current);
+        target.addListener((ListChangeListener<Row>) c -> {
+            while (c.next()) {
+                if (c.wasReplaced()) changes.add("replace " + c.getFrom());
+                else if (c.wasAdded()) changes.add("add " + c.getFrom() + "-" + c.getTo());
+                else if (c.wasRemoved()) changes.add("remove " + c.getRemovedSize());
+            }
+        });
+        ListUpdates.apply(target, next, Row::id);
+        assertEquals(next, target);
+        return target;
+    }
+
+    @Test
+    void insertsNewRowsInRuns() {
+        List<String> changes = new ArrayList<>();
+        apply(rows("a", "b", "c", "d"), rows("a", "x", "y", "b", "c", "d", "z"), changes);
+
+        assertEquals(List.of("add 1-3", "add 6-7"), changes);
+    }
+
+    @Test
+    void removesMissingRows() {
+        List<String> changes = new ArrayList<>();
+        apply(rows("a", "b", "c", "d", "e"), rows("a", "c", "e"), changes);
+
+        assertEquals(List.of("remove 1", "remove 1"), changes);
+    }
+
+    @Test
+    void movesOnlyTheRowsThatChangedPlace() {
+        List<Row> current = rows("a", "b", "c", "d", "e", "f");
+        List<String> changes = new ArrayList<>();
+        ObservableList<Row> target = apply(current, rows("a", "b", "e", "c", "d", "f"), changes);
+
+        assertEquals(List.of("remove 1", "add 2-3"), changes);
+        // Rows that kept their relative order are the same instances
+        assertSame(current.get(2), target.get(3));
+    }
+
+    @Test
+    void replacesRowsWhoseValuesChanged() {
+        List<String> changes = new ArrayList<>();
+        List<Row> next = List.of(new Row("a", 0), new Row("b", 5), new Row("c", 0));
+        apply(rows("a", "b", "c"), next, changes);
+
+        assertEquals(List.of("replace 1"), changes);
+    }
+
+    @Test
+    void fillsAnEmptyListInOneChange() {
+        List<String> changes = new ArrayList<>();
+        apply(List.of(), rows("a", "b", "c"), changes);
+
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void replacesAWhollyReorderedListInOneChange() {
+        List<String> changes = new ArrayList<>();
+        apply(rows("a", "b", "c", "d", "e", "f"), rows("f", "e", "d", "c", "b", "a"), changes);
+
+        assertEquals(1, changes.size());
+        assertTrue(changes.getFirst().startsWith("replace"), changes.toString());
+    }
+
+    @Test
+    void emptiesTheList() {
+        apply(rows("a", "b", "c"), List.of(), new ArrayList<>());
+    }
+
+    @Test
+    void copesWithRepeatedIds() {
+        apply(rows("a", "b", "c"), rows("a", "b", "a", "c"), new ArrayList<>());
+        apply(rows("a", "a", "b"), rows("b", "a"), new ArrayList<>());
+        apply(rows("a", "b", "a"), rows("a", "b", "a"), new ArrayList<>());
+        apply(List.of(), rows("x", "x"), new ArrayList<>());
+
+        Random random = new Random(7);
+        for (int round = 0; round < 2_000; round++) {
+            apply(randomRows(random, "abc"), randomRows(random, "abc"), new ArrayList<>());
+        }
+    }
+
+    private static List<Row> randomRows(Random random, String ids) {
+        List<Row> rows = new ArrayList<>();
+        int size = random.nextInt(8);
+        for (int i = 0; i < size; i++) rows.add(new Row(String.valueOf(ids.charAt(random.nextInt(ids.length()))), random.nextInt(2)));
+        return rows;
+    }
+
+    @Test
+    void matchesNextForRandomEdits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2_000; round++) {
+            int size = random.nextInt(12);
+            int added = random.nextInt(4);
+            List<Row> current = new ArrayList<>();
+            for (int i = 0; i < size; i++) current.add(new Row("r" + i, random.nextInt(3)));
+
+            List<Row> next = new ArrayList<>();
+            for (Row row : current) {
+                if (random.nextInt(4) > 0) next.add(random.nextInt(5) == 0 ? new Row(row.id(), row.votes() + 1) : row);
+            }
+            for (int i = 0; i < added; i++) next.add(new Row("n" + i, 0));
+            if (random.nextBoolean()) Collections.shuffle(next, random);
+            else if (next.size() > 1) Collections.swap(next, 0, random.nextInt(next.size()));
+
+            apply(current, next, new ArrayList<>());
+        }
+    }
+}
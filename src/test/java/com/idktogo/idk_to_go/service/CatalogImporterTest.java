@@ -0,0 +1,180 @@
+package com.idktogo.idk_to_go.service;
+
+import com.idktogo.idk_to_go.model.MenuItem;
+import com.idktogo.idk_to_go.model.Restaurant;
+import com.idktogo.idk_to_go.repository.Repositories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports small CSV files into a fresh in-memory catalog.
+ */
+class CatalogImporterTest {
+
+    private static final String HEADER = "name,category,location,logo,item,price\n";
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void freshCatalog() {
+        Repositories.use(Repositories.Backend.MEMORY);
+        CatalogCache.invalidateAll();
+    }
+
+    @AfterEach
+    void resetBatchSize() {
+        System.clearProperty("import.batchSize");
+    }
+
+    private CatalogImporter.Report importCsv(String content) throws Exception {
+        return importCsv(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CatalogImporter.Report importCsv(byte[] content) throws Exception {
+        Path file = dir.resolve("catalog.csv");
+        Files.write(file, content);
+        return CatalogImporter.importFile(file, p -> {}).get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<Restaurant> restaurants() {
+        return Repositories.restaurants().listAll().join();
+    }
+
+    private static Restaurant restaurant(String name) {
+        return restaurants().stream().filter(r -> r.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static List<String> menu(String restaurantName) {
+        return Repositories.menuItems().listByRestaurant(restaurant(restaurantName).id()).join().stream()
+                .map(MenuItem::itemName)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void splitsPlainAndQuotedFields() {
+        assertEquals(List.of("Taco Town", "Mexican", ""), CatalogImporter.parseCsv("Taco Town,Mexican,"));
+        assertEquals(List.of("Wings, Burgers", "Main St"), CatalogImporter.parseCsv("\"Wings, Burgers\",Main St"));
+        assertEquals(List.of("The \"Big\" One", "x"), CatalogImporter.parseCsv("\"The \"\"Big\"\" One\",x"));
+        assertEquals(List.of("\""), CatalogImporter.parseCsv("\"\"\"\""));
+    }
+
+    @Test
+    void readsQuotedFieldsSpanningLines() throws Exception {
+        CatalogImporter.Report report = importCsv(HEADER
+                + "\"Taco\nTown\",Mexican,\"12 Main St,\nSuite 4\",taco.png,,\n"
+                + "\"Taco\nTown\",,,,\"Al \"\"Pastor\"\"\",3.50\n"
+                + "Wing Stop,Wings,Elm St,wings.png,,\n");
+
+        assertEquals(2, report.restaurants());
+        assertEquals(1, report.menuItems());
+        assertEquals(List.of(), report.errors());
+        assertEquals("12 Main St,\nSuite 4", restaurant("Taco\nTown").location());
+        assertEquals(List.of("Al \"Pastor\""), menu("Taco\nTown"));
+    }
+
+    @Test
+    void reportsTheFirstLineOfAMultiLineRecord() throws Exception {
+        CatalogImporter.Report report = importCsv(HEADER
+                + "\"Taco\nTown\",Mexican,Main St,,,\n"
+                + "Wing Stop,Wings,Elm St,,,\n");
+
+        assertEquals(2, report.invalid());
+        assertEquals(List.of("Line 2: restaurant needs a name and a logo", "Line 4: restaurant needs a name and a logo"),
+                report.errors());
+    }
+
+    @Test
+    void ignoresByteOrderMark() throws Exception {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] body = (HEADER + "Taco Town,Mexican,Main St,taco.png,,\n").getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[bom.length + body.length];
+        System.arraycopy(bom, 0, content, 0, bom.length);
+        System.arraycopy(body, 0, content, bom.length, body.length);
+
+        CatalogImporter.Report report = importCsv(content);
+
+        assertEquals(1, report.restaurants());
+        assertEquals(List.of("Taco Town"), restaurants().stream().map(Restaurant::name).toList());
+    }
+
+    @Test
+    void menuRowsWaitForTheirRestaurantsBatch() throws Exception {
+        System.setProperty("import.batchSize", "3");
+        // Items for Taco Town and Pho Place arrive while their restaurants are still pending;
+        // the second restaurant batch fills up in the middle of the items
+        CatalogImporter.Report report = importCsv(HEADER
+                + "Taco Town,Mexican,Main St,taco.png,,\n"
+                + "Taco Town,,,,Burrito,9.00\n"
+                + "Pho Place,Vietnamese,Oak St,pho.png,,\n"
+                + "Pho Place,,,,Pho,$11.50\n"
+                + "Taco Town,,,,Nachos,6.25\n"
+                + "Pizza Barn,Pizza,Elm St,pizza.png,,\n"
+                + "Pizza Barn,,,,Slice,3\n");
+
+        assertEquals(3, report.restaurants());
+        assertEquals(4, report.menuItems());
+        assertEquals(List.of("Burrito", "Nachos"), menu("Taco Town"));
+        assertEquals(List.of("Pho"), menu("Pho Place"));
+        assertEquals(List.of("Slice"), menu("Pizza Barn"));
+    }
+
+    @Test
+    void dedupesRestaurantNamesCaseInsensitively() throws Exception {
+        importCsv(HEADER + "Taco Town,Mexican,Main St,taco.png,,\n");
+
+        CatalogImporter.Report report = importCsv(HEADER
+                + "taco town,Mexican,Main St,taco.png,,\n"
+                + "Wing Stop,Wings,Elm St,wings.png,,\n"
+                + "  WING STOP ,Wings,Elm St,wings.png,,\n"
+                + "TACO TOWN,,,,Churros,4\n");
+
+        assertEquals(1, report.restaurants());
+        assertEquals(2, report.duplicates());
+        assertEquals(1, report.menuItems());
+        assertEquals(List.of("Taco Town", "Wing Stop"), restaurants().stream().map(Restaurant::name).sorted().toList());
+        assertEquals(List.of("Churros"), menu("Taco Town"));
+    }
+
+    @Test
+    void rejectsItemsForUnknownRestaurantsAndBadPrices() throws Exception {
+        List<CatalogImporter.Progress> progress = Collections.synchronizedList(new ArrayList<>());
+        Path file = dir.resolve("catalog.csv");
+        Files.writeString(file, HEADER
+                + "Taco Town,Mexican,Main St,taco.png,,\n"
+                + "Nowhere,,,,Soup,5\n"
+                + "Taco Town,,,,Burrito,free\n"
+                + "Taco Town,,,,Taco,-1\n");
+
+        CatalogImporter.Report report = CatalogImporter.importFile(file, progress::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, report.restaurants());
+        assertEquals(0, report.menuItems());
+        assertEquals(3, report.invalid());
+        assertEquals(List.of("Line 3: unknown restaurant 'Nowhere'", "Line 4: invalid price 'free'",
+                "Line 5: invalid price '-1'"), report.errors());
+        assertTrue(!progress.isEmpty() && progress.get(progress.size() - 1).skipped() == 3);
+    }
+
+    @Test
+    void emptyFileImportsNothing() throws Exception {
+        CatalogImporter.Report report = importCsv("");
+
+        assertEquals(0, report.restaurants());
+        assertEquals(List.of(), restaurants());
+    }
+}
@@ -0,0 +1,223 @@
+package com.idktogo.idk_to_go.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link LlmClient#stream} against a local stub server that replays a scripted event stream.
+ */
+class LlmClientStreamTest {
+
+    // Pause between chunks, so each one reaches the client separately
+    private static final String PAUSE = "<pause>";
+
+    private static HttpServer server;
+    private static volatile int status;
+    private static volatile List<String> chunks;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/messages", LlmClientStreamTest::reply);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        System.setProperty("llm.baseUrl", "http://localhost:" + server.getAddress().getPort());
+        System.setProperty("claude.api.key", "test-key");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        System.clearProperty("llm.baseUrl");
+        System.clearProperty("claude.api.key");
+    }
+
+    @AfterEach
+    void resetIdleTimeout() {
+        System.clearProperty("llm.stream.idleTimeoutMillis");
+    }
+
+    private static void reply(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String chunk : chunks) {
+                if (chunk.equals(PAUSE)) {
+                    Thread.sleep(50);
+                    continue;
+                }
+                out.write(chunk.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // The client closed the stream early
+        }
+    }
+
+    private static void serve(int statusCode, String... script) {
+        status = statusCode;
+        chunks = List.of(script);
+    }
+
+    private static String event(String type, String data) {
+        return "event: " + type + "\ndata: " + data + "\n\n";
+    }
+
+    private static String textDelta(String text) {
+        return event("content_block_delta", "{\"type\":\"content_block_delta\",\"index\":0,"
+                + "\"delta\":{\"type\":\"text_delta\",\"text\":\"" + text + "\"}}");
+    }
+
+    private static final String MESSAGE_START = event("message_start",
+            "{\"type\":\"message_start\",\"message\":{\"usage\":{\"input_tokens\":42,\"output_tokens\":1}}}");
+    private static final String MESSAGE_DELTA = event("message_delta",
+            "{\"type\":\"message_delta\",\"delta\":{\"stop_reason\":\"end_turn\"},\"usage\":{\"output_tokens\":17}}");
+    private static final String MESSAGE_STOP = event("message_stop", "{\"type\":\"message_stop\"}");
+
+    private static CompletableFuture<LlmClient.Response> stream(List<String> pieces) {
+        return LlmClient.stream("system", "user", 100, 0.5, pieces::add);
+    }
+
+    private static Throwable failure(CompletableFuture<?> call) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(10, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    @Test
+    void joinsSplitDeltasAndReadsUsage() throws Exception {
+        String delta = textDelta("name\\\": \\\"Taco Town\\\"}");
+        serve(200,
+                MESSAGE_START,
+                event("ping", "{\"type\":\"ping\"}"),
+                textDelta("{\\\"recommended_"), PAUSE,
+                // One event split mid-line across writes
+                delta.substring(0, 20), PAUSE, delta.substring(20, 60), PAUSE, delta.substring(60), PAUSE,
+                MESSAGE_DELTA, MESSAGE_STOP);
+
+        List<String> pieces = Collections.synchronizedList(new ArrayList<>());
+        LlmClient.Response response = stream(pieces).get(10, TimeUnit.SECONDS);
+
+        assertEquals("{\"recommended_name\": \"Taco Town\"}", response.text());
+        assertEquals(List.of("{\"recommended_", "name\": \"Taco Town\"}"), pieces);
+        assertEquals(42, response.inputTokens());
+        assertEquals(17, response.outputTokens());
+    }
+
+    @Test
+    void feedsRecommendationFieldsAsTheyArrive() throws Exception {
+        serve(200, MESSAGE_START,
+                textDelta("```json\\n{\\\"recommended_name\\\": \\\"Ta"), PAUSE,
+                textDelta("co Town\\\", \\\"reason\\\": \\\"Spicy.\\\", "), PAUSE,
+                textDelta("\\\"alternatives\\\": [\\\"Wing Stop\\\"]}\\n```"),
+                MESSAGE_DELTA, MESSAGE_STOP);
+
+        List<String> fields = Collections.synchronizedList(new ArrayList<>());
+        RecommendationStreamParser parser = new RecommendationStreamParser(new QuizService.RecommendationListener() {
+            @Override
+            public void onName(String restaurantName) {
+                fields.add("name:" + restaurantName);
+            }
+
+            @Override
+            public void onReason(String reason) {
+                fields.add("reason:" + reason);
+            }
+
+            @Override
+            public void onAlternative(String restaurantName) {
+                fields.add("alternative:" + restaurantName);
+            }
+        });
+        LlmClient.Response response = LlmClient.stream("system", "user", 100, 0.5, parser).get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("name:Taco Town", "reason:Spicy.", "alternative:Wing Stop"), fields);
+        assertEquals("{\"recommended_name\": \"Taco Town\", \"reason\": \"Spicy.\", \"alternatives\": [\"Wing Stop\"]}",
+                QuizService.cleanJson(response.text()));
+    }
+
+    @Test
+    void failsOnErrorEvent() {
+        serve(200, MESSAGE_START, textDelta("{"),
+                event("error", "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"Overloaded\"}}"));
+
+        Throwable cause = failure(stream(new ArrayList<>()));
+
+        assertEquals("API stream error: Overloaded", cause.getMessage());
+    }
+
+    @Test
+    void failsWhenStreamEndsWithoutMessageStop() {
+        serve(200, MESSAGE_START, textDelta("{\\\"recommended_name\\\": \\\"Taco Town\\\"}"), MESSAGE_DELTA);
+
+        Throwable cause = failure(stream(new ArrayList<>()));
+
+        assertEquals("API stream ended before message_stop", cause.getMessage());
+    }
+
+    @Test
+    void failsOnErrorStatusWithBody() {
+        serve(529, "{\"type\":\"error\",\"error\":{\"message\":\"Overloaded\"}}");
+
+        Throwable cause = failure(stream(new ArrayList<>()));
+
+        assertTrue(cause.getMessage().startsWith("API request failed with status 529"), cause.getMessage());
+        assertTrue(cause.getMessage().contains("Overloaded"), cause.getMessage());
+    }
+
+    @Test
+    void failsWhenStreamGoesIdle() {
+        System.setProperty("llm.stream.idleTimeoutMillis", "200");
+        List<String> script = new ArrayList<>(List.of(MESSAGE_START, textDelta("{")));
+        // Stall for about two seconds without sending anything
+        script.addAll(Collections.nCopies(40, PAUSE));
+        script.add(MESSAGE_STOP);
+        serve(200, script.toArray(String[]::new));
+
+        long started = System.nanoTime();
+        Throwable cause = failure(stream(new ArrayList<>()));
+
+        assertInstanceOf(HttpTimeoutException.class, cause);
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2), "idle stream was not closed early");
+    }
+
+    @Test
+    void cancellingStopsDeliveringText() throws Exception {
+        List<String> script = new ArrayList<>(List.of(MESSAGE_START, textDelta("first")));
+        script.addAll(Collections.nCopies(10, PAUSE));
+        script.add(textDelta("second"));
+        script.add(MESSAGE_STOP);
+        serve(200, script.toArray(String[]::new));
+
+        List<String> pieces = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<LlmClient.Response> call = stream(pieces);
+        while (pieces.isEmpty()) Thread.sleep(10);
+        call.cancel(true);
+        Thread.sleep(800);
+
+        assertTrue(call.isCancelled());
+        assertEquals(List.of("first"), pieces);
+    }
+}
@@ -0,0 +1,80 @@
+package com.idktogo.idk_to_go.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecommendationStreamParserTest {
+
+    // Records every field the parser reports, in order
+    private static final class Fields implements QuizService.RecommendationListener {
+        final List<String> seen = new ArrayList<>();
+
+        @Override
+        public void onName(String restaurantName) {
+            seen.add("name:" + restaurantName);
+        }
+
+        @Override
+        public void onReason(String reason) {
+            seen.add("reason:" + reason);
+        }
+
+        @Override
+        public void onAlternative(String restaurantName) {
+            seen.add("alternative:" + restaurantName);
+        }
+    }
+
+    private static List<String> parse(String... pieces) {
+        Fields fields = new Fields();
+        RecommendationStreamParser parser = new RecommendationStreamParser(fields);
+        for (String piece : pieces) parser.accept(piece);
+        return fields.seen;
+    }
+
+    @Test
+    void reportsFieldsSplitAcrossPieces() {
+        List<String> seen = parse("{\"recommended_", "name\": \"Taco", " Town\", \"rea", "son\": \"Spicy \\\"and\\\"",
+                " quick.\", \"alternatives\": [\"Pizza", " Place\", ", "\"Wing Stop\"]}");
+
+        assertEquals(List.of("name:Taco Town", "reason:Spicy \"and\" quick.",
+                "alternative:Pizza Place", "alternative:Wing Stop"), seen);
+    }
+
+    @Test
+    void reportsNameBeforeTheRestArrives() {
+        Fields fields = new Fields();
+        RecommendationStreamParser parser = new RecommendationStreamParser(fields);
+        parser.accept("{\"recommended_name\": \"Taco Town\", ");
+        assertEquals(List.of("name:Taco Town"), fields.seen);
+
+        parser.accept("\"reason\": \"Spicy\"");
+        assertEquals(List.of("name:Taco Town", "reason:Spicy"), fields.seen);
+    }
+
+    @Test
+    void skipsCodeFenceAndTrailingText() {
+        List<String> seen = parse("```json\n", "{\"recommended_name\": \"Taco Town\"}", "\n```", " {\"reason\": \"x\"}");
+
+        assertEquals(List.of("name:Taco Town"), seen);
+    }
+
+    @Test
+    void ignoresNestedFieldsWithTheSameNames() {
+        List<String> seen = parse("{\"extra\": {\"recommended_name\": \"Nope\", \"alternatives\": [\"Nope\"]},",
+                " \"recommended_name\": \"Taco Town\"}");
+
+        assertEquals(List.of("name:Taco Town"), seen);
+    }
+
+    @Test
+    void goesQuietOnInvalidJson() {
+        List<String> seen = parse("{\"recommended_name\": \"Taco Town\", ", "oops ", "\"reason\": \"x\"}");
+
+        assertEquals(List.of("name:Taco Town"), seen);
+    }
+}